@@ -62,6 +62,9 @@ public class Constants {
 
     public static final String VALIDATION_ENABLED = "VALIDATION_ENABLED";
     public static final String EDIATABLE_ENABLED = "EDITABLE_ENABLED";
+    public static final String VISITOR_DISPATCH_ENABLED = "VISITOR_DISPATCH_ENABLED";
+    public static final String VISITOR_DISPATCHER_IMPL = "VisitorDispatcherImpl";
+    public static final String VALIDATOR_HOLDER = "ValidatorHolder";
     public static final String BUILDABLE = "BUILDABLE";
 
     public static final String INIT = "INIT";
@@ -21,23 +21,88 @@ import io.sundr.codegen.model.ParameterReference;
 import io.sundr.codegen.model.TypeDef;
 import io.sundr.codegen.model.TypeRef;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static io.sundr.builder.Constants.GENERATED;
+import static io.sundr.builder.Constants.VISITOR_DISPATCH_ENABLED;
+
 public class BuildableRepository {
 
-    private final Map<String, TypeDef> buildables = new HashMap<String, TypeDef>();
+    private final Map<String, TypeDef> buildables = new LinkedHashMap<String, TypeDef>();
+    private final Map<String, Integer> typeIds = new HashMap<String, Integer>();
+    private final Map<String, List<TypeDef>> dispatchedByPackage = new LinkedHashMap<String, List<TypeDef>>();
+
+    //Maps each supertype of a buildable to the names of the buildables that extend or implement it, in registration order.
+    //It is built on first use and then updated as new buildables are registered.
+    private Map<String, Set<String>> descendants;
+
+    //The decisions of @FilterDescendants, by property and descendant.
+    private final Map<String, Map<String, Boolean>> descendantFilterDecisions = new LinkedHashMap<String, Map<String, Boolean>>();
 
     public TypeDef register(TypeDef buildable) {
         if (buildable != null) {
-            buildables.put(buildable.getFullyQualifiedName(), buildable);
+            TypeDef previous = buildables.put(buildable.getFullyQualifiedName(), buildable);
+            assignTypeId(buildable);
+            synchronized (this) {
+                if (descendants != null && previous != null) {
+                    descendants = null;
+                } else if (descendants != null) {
+                    indexDescendant(buildable);
+                }
+            }
         }
         return buildable;
     }
 
+    /**
+     * Returns the buildables that extend or implement the specified type, directly or transitively.
+     * Types are matched by package and name, so they are found with a single lookup instead of checking every buildable.
+     * @param type  The type.
+     * @return      The descendants in registration order.
+     */
+    public synchronized Set<TypeDef> getDescendants(TypeDef type) {
+        if (descendants == null) {
+            descendants = new HashMap<String, Set<String>>();
+            for (TypeDef buildable : buildables.values()) {
+                indexDescendant(buildable);
+            }
+        }
+
+        Set<String> names = descendants.get(keyOf(type));
+        if (names == null) {
+            return Collections.emptySet();
+        }
+        Set<TypeDef> result = new LinkedHashSet<TypeDef>();
+        for (String name : names) {
+            result.add(buildables.get(name));
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * Returns the visitor dispatch type id of the specified buildable.
+     * Ids are assigned in registration order and are unique within the package of the buildable.
+     * @param buildable The buildable.
+     * @return          The id or null if visitor dispatch is not enabled for the buildable.
+     */
+    public Integer getTypeId(TypeDef buildable) {
+        return buildable != null ? typeIds.get(buildable.getFullyQualifiedName()) : null;
+    }
+
+    /**
+     * @return The buildables that use visitor dispatch, grouped by package and ordered by type id.
+     */
+    public Map<String, List<TypeDef>> getDispatchedBuildables() {
+        return Collections.unmodifiableMap(dispatchedByPackage);
+    }
+
     public Set<TypeDef> getBuildables() {
         return Collections.unmodifiableSet(new LinkedHashSet<TypeDef>(buildables.values()));
     }
@@ -60,7 +125,72 @@ public class BuildableRepository {
         return false;
     }
 
+    /**
+     * Records if a descendant of a property annotated with {@link io.sundr.builder.annotations.FilterDescendants} was filtered out.
+     * @param property      The property, qualified by the type that declares it.
+     * @param descendant    The fully qualified name of the descendant.
+     * @param filtered      True if the descendant was filtered out.
+     */
+    public synchronized void addDescendantFilterDecision(String property, String descendant, boolean filtered) {
+        Map<String, Boolean> decisions = descendantFilterDecisions.get(property);
+        if (decisions == null) {
+            decisions = new LinkedHashMap<String, Boolean>();
+            descendantFilterDecisions.put(property, decisions);
+        }
+        decisions.put(descendant, filtered);
+    }
+
+    /**
+     * Returns and clears the recorded decisions of {@link io.sundr.builder.annotations.FilterDescendants}.
+     * @return  A map from property to a map from descendant to true if it was filtered out.
+     */
+    public synchronized Map<String, Map<String, Boolean>> removeDescendantFilterDecisions() {
+        Map<String, Map<String, Boolean>> result = new LinkedHashMap<String, Map<String, Boolean>>(descendantFilterDecisions);
+        descendantFilterDecisions.clear();
+        return result;
+    }
+
     public void clear() {
         buildables.clear();
+        typeIds.clear();
+        dispatchedByPackage.clear();
+        synchronized (this) {
+            descendants = null;
+            descendantFilterDecisions.clear();
+        }
+    }
+
+    private void indexDescendant(TypeDef buildable) {
+        for (TypeDef supertype : buildable.getSupertypes()) {
+            String key = keyOf(supertype);
+            Set<String> names = descendants.get(key);
+            if (names == null) {
+                names = new LinkedHashSet<String>();
+                descendants.put(key, names);
+            }
+            names.add(buildable.getFullyQualifiedName());
+        }
+    }
+
+    private static String keyOf(TypeDef type) {
+        return type.getPackageName() + "." + type.getName();
+    }
+
+    private void assignTypeId(TypeDef buildable) {
+        //Generated buildables (e.g. editables) share the builder of the type they were generated from.
+        if (!Boolean.TRUE.equals(buildable.getAttributes().get(VISITOR_DISPATCH_ENABLED))
+                || Boolean.TRUE.equals(buildable.getAttributes().get(GENERATED))
+                || buildable.isAbstract()
+                || typeIds.containsKey(buildable.getFullyQualifiedName())) {
+            return;
+        }
+
+        List<TypeDef> dispatched = dispatchedByPackage.get(buildable.getPackageName());
+        if (dispatched == null) {
+            dispatched = new ArrayList<TypeDef>();
+            dispatchedByPackage.put(buildable.getPackageName(), dispatched);
+        }
+        typeIds.put(buildable.getFullyQualifiedName(), dispatched.size());
+        dispatched.add(buildable);
     }
 }
@@ -47,6 +47,10 @@ public class BuilderContext {
     private final TypeDef editableInterface;
     private final TypeDef visitableInterface;
     private final TypeDef visitableBuilderInterface;
+    private final TypeDef visitableRegistryClass;
+    private final TypeDef classCacheClass;
+    private final TypeDef visitorDispatcherClass;
+    private final TypeDef validatorHolderClass;
     private final TypeDef visitorInterface;
     private final TypeDef typedVisitorInterface;
     private final TypeDef pathAwareVisitorClass;
@@ -116,6 +120,22 @@ public class BuilderContext {
                 .accept(new ReplacePackage("io.sundr.builder", builderPackage))
                 .build();
 
+        visitableRegistryClass = new TypeDefBuilder(Sources.FROM_CLASSPATH_TO_SINGLE_TYPEDEF.apply("io/sundr/builder/VisitableRegistry.java"))
+                .accept(new ReplacePackage("io.sundr.builder", builderPackage))
+                .build();
+
+        classCacheClass = new TypeDefBuilder(Sources.FROM_CLASSPATH_TO_SINGLE_TYPEDEF.apply("io/sundr/builder/ClassCache.java"))
+                .accept(new ReplacePackage("io.sundr.builder", builderPackage))
+                .build();
+
+        visitorDispatcherClass = new TypeDefBuilder(Sources.FROM_CLASSPATH_TO_SINGLE_TYPEDEF.apply("io/sundr/builder/VisitorDispatcher.java"))
+                .accept(new ReplacePackage("io.sundr.builder", builderPackage))
+                .build();
+
+        validatorHolderClass = new TypeDefBuilder(Sources.FROM_CLASSPATH_TO_SINGLE_TYPEDEF.apply("io/sundr/builder/ValidatorHolder.java"))
+                .accept(new ReplacePackage("io.sundr.builder", builderPackage))
+                .build();
+
         inlineableBase = new TypeDefBuilder(Sources.FROM_CLASSPATH_TO_SINGLE_TYPEDEF.apply("io/sundr/builder/Inlineable.java"))
                 .accept(new ReplacePackage("io.sundr.builder", builderPackage))
                 .build();
@@ -169,6 +189,18 @@ public class BuilderContext {
         return visitableBuilderInterface;
     }
 
+    public TypeDef getVisitableRegistryClass() {
+        return visitableRegistryClass;
+    }
+
+    public TypeDef getClassCacheClass() {
+        return classCacheClass;
+    }
+
+    public TypeDef getVisitorDispatcherClass() {
+        return visitorDispatcherClass;
+    }
+
     public TypeDef getVisitorInterface() {
         return visitorInterface;
     }
@@ -198,6 +230,10 @@ public class BuilderContext {
                 .build();
     }
 
+    public TypeDef getValidatorHolderClass() {
+        return validatorHolderClass;
+    }
+
     public Inline[] getInlineables() {
         return inlineables;
     }
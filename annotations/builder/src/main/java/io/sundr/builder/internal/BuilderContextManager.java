@@ -18,6 +18,7 @@ package io.sundr.builder.internal;
 
 import io.sundr.builder.Builder;
 import io.sundr.builder.annotations.Inline;
+import io.sundr.codegen.CodegenContext;
 
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
@@ -27,17 +28,17 @@ public class BuilderContextManager {
     
     private BuilderContextManager() {}
 
+    //Used when no CodegenContext is bound to the current thread, otherwise the context is kept per CodegenContext.
     private static BuilderContext context = null;
 
     public synchronized static BuilderContext create(Elements elements, Types types) {
-        context = new BuilderContext(elements, types, false, Builder.class.getPackage().getName());
-        return context;
+        return setContext(new BuilderContext(elements, types, false, Builder.class.getPackage().getName()));
     }
 
-    public static BuilderContext create(Elements elements, Types types, Boolean generateBuilderPackage, String packageName, Inline...inlineables) {
+    public synchronized static BuilderContext create(Elements elements, Types types, Boolean generateBuilderPackage, String packageName, Inline...inlineables) {
+        BuilderContext context = currentContext();
         if (context == null) {
-            context = new BuilderContext(elements, types, generateBuilderPackage, packageName, inlineables);
-            return context;
+            return setContext(new BuilderContext(elements, types, generateBuilderPackage, packageName, inlineables));
         } else {
             if (!packageName.equals(context.getBuilderPackage())) {
                 throw new IllegalStateException("Cannot use different builder package names in a single project. Used:"
@@ -52,9 +53,25 @@ public class BuilderContextManager {
     }
 
     public static synchronized BuilderContext getContext() {
+        BuilderContext context = currentContext();
         if (context== null) {
             throw new IllegalStateException("Builder context not available.");
         }
         return context;
     }
+
+    private static BuilderContext currentContext() {
+        CodegenContext scope = CodegenContext.getBoundContext();
+        return scope != null ? scope.getScoped(BuilderContext.class) : context;
+    }
+
+    private static BuilderContext setContext(BuilderContext builderContext) {
+        CodegenContext scope = CodegenContext.getBoundContext();
+        if (scope != null) {
+            scope.setScoped(BuilderContext.class, builderContext);
+        } else {
+            context = builderContext;
+        }
+        return builderContext;
+    }
 }
@@ -28,6 +28,7 @@ import io.sundr.codegen.functions.ClassTo;
 import io.sundr.codegen.model.Attributeable;
 import io.sundr.codegen.model.Block;
 import io.sundr.codegen.model.ClassRef;
+import io.sundr.codegen.model.ClassRefBuilder;
 import io.sundr.codegen.model.Method;
 import io.sundr.codegen.model.MethodBuilder;
 import io.sundr.codegen.model.Property;
@@ -496,7 +497,7 @@ public class ClazzAs {
                             return toValidate(item,validationGloballyEnabled);
                         }
                     }))
-                    .addToAttributes(ALSO_IMPORT, validationGloballyEnabled ? Constants.VALIDATION_REFS : Collections.emptyList())
+                    .addToAttributes(ALSO_IMPORT, validationGloballyEnabled ? validationRefs() : Collections.emptyList())
                     .build();
 
             methods.add(validate);
@@ -515,6 +516,24 @@ public class ClazzAs {
 
             methods.add(equals);
 
+            final Integer typeId = BuilderContextManager.getContext().getBuildableRepository().getTypeId(item);
+            if (typeId != null) {
+                Method isVisitableBy = new MethodBuilder()
+                        .withModifiers(TypeUtils.modifiersToInt(Modifier.PROTECTED))
+                        .withReturnType(ClassTo.TYPEREF.apply(boolean.class))
+                        .addNewArgument()
+                            .withName("visitor")
+                            .withTypeRef(new ClassRefBuilder().withDefinition(BuilderContextManager.getContext().getVisitorInterface()).build())
+                        .endArgument()
+                        .withName("isVisitableBy")
+                        .withNewBlock()
+                            .addNewStringStatementStatement(String.format(DISPATCH_VISITOR_FORMAT, builderType.getName(), VISITOR_DISPATCHER_IMPL, typeId))
+                        .endBlock()
+                        .build();
+
+                methods.add(isVisitableBy);
+            }
+
             return new TypeDefBuilder(builderType)
                     .withModifiers(TypeUtils.modifiersToInt(modifiers))
                     .withProperties(fields)
@@ -594,6 +613,8 @@ public class ClazzAs {
         }
     });
 
+    private static final String DISPATCH_VISITOR_FORMAT = "return getClass() == %s.class ? %s.INSTANCE.canVisit(visitor, this, %d) : super.isVisitableBy(visitor);";
+
     private static Property arrayAsList(Property property) {
         return new PropertyBuilder(property)
                 .withTypeRef(TypeAs.ARRAY_AS_LIST.apply(TypeAs.BOXED_OF.apply(property.getTypeRef())))
@@ -721,11 +742,8 @@ public class ClazzAs {
         List<Statement> statements = new ArrayList<Statement>();
         if (enabled) {
             statements.add(new StringStatement("if (!validationEnabled) { return; }"));
-            statements.add(new StringStatement("Validator validator = null;"));
-            statements.add(new StringStatement("try {"));
-            statements.add(new StringStatement("    ValidatorFactory factory = Validation.buildDefaultValidatorFactory();"));
-            statements.add(new StringStatement("    validator = factory.getValidator();"));
-            statements.add(new StringStatement("} catch(ValidationException e) {return;}"));
+            statements.add(new StringStatement("Validator validator = " + VALIDATOR_HOLDER + ".getValidator();"));
+            statements.add(new StringStatement("if (validator == null) { return; }"));
             statements.add(new StringStatement("Set<ConstraintViolation<T>> violations = validator.validate(item);"));
             statements.add(new StringStatement("if (!violations.isEmpty()) {"));
             statements.add(new StringStatement("throw new ConstraintViolationException(violations);"));
@@ -734,6 +752,12 @@ public class ClazzAs {
         return statements;
     }
 
+    private static List<ClassRef> validationRefs() {
+        List<ClassRef> refs = new ArrayList<ClassRef>(Constants.VALIDATION_REFS);
+        refs.add(BuilderContextManager.getContext().getValidatorHolderClass().toInternalReference());
+        return refs;
+    }
+
 
     private static Method superConstructorOf(Method constructor, TypeDef constructorType) {
         return new MethodBuilder(constructor)
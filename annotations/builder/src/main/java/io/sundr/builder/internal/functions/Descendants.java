@@ -49,6 +49,13 @@ import static io.sundr.builder.internal.functions.CollectionTypes.IS_COLLECTION;
 public class Descendants {
 
     private static final String VALUE = "value";
+    private static final String JAVA_LANG = "java.lang";
+
+    private static final Function<String, Pattern> TO_PATTERN = FunctionFactory.cache(new Function<String, Pattern>() {
+        public Pattern apply(String regex) {
+            return Pattern.compile(regex);
+        }
+    });
 
     public static final Function<TypeDef, Set<TypeDef>> BUILDABLE_DECENDANTS = FunctionFactory.cache(new Function<TypeDef, Set<TypeDef>>() {
         public Set<TypeDef> apply(TypeDef item) {
@@ -60,7 +67,9 @@ public class Descendants {
             BuilderContext ctx = BuilderContextManager.getContext();
             BuildableRepository repository = ctx.getBuildableRepository();
 
-            for (TypeDef type : repository.getBuildables()) {
+            //Types without a package may match java.lang types by name, so they can't be looked up in the index.
+            boolean indexed = item.getPackageName() != null && !JAVA_LANG.equals(item.getPackageName());
+            for (TypeDef type : indexed ? repository.getDescendants(item) : repository.getBuildables()) {
 
                 if (type.getKind() == Kind.CLASS &&  !type.isAbstract() && isDescendant(type, item) && !type.equals(item) && !type.getAttributes().containsKey(GENERATED)) {
                     result.add(type);
@@ -173,13 +182,17 @@ public class Descendants {
             if (ref.getClassRef().getFullyQualifiedName().equals(FilterDescendants.class.getName())) {
                 Map<String, Object> parameters = ref.getParameters();
                 Object value  = parameters == null ? null : parameters.get(VALUE);
+                boolean filtered = true;
                 if (value instanceof String && property.getTypeRef() instanceof ClassRef) {
-                    Pattern p = Pattern.compile((String) value);
-                    if (p.matcher(classRef.getFullyQualifiedName()).matches()) {
-                        return false;
+                    if (TO_PATTERN.apply((String) value).matcher(classRef.getFullyQualifiedName()).matches()) {
+                        filtered = false;
                     }
                 }
-                return true;
+                TypeDef origin = (TypeDef) property.getAttributes().get(ORIGIN_TYPEDF);
+                String propertyName = origin != null ? origin.getFullyQualifiedName() + "." + property.getName() : property.getName();
+                BuilderContextManager.getContext().getBuildableRepository()
+                        .addDescendantFilterDecision(propertyName, classRef.getFullyQualifiedName(), filtered);
+                return filtered;
             }
         }
         return false;
@@ -24,78 +24,146 @@ import io.sundr.builder.internal.BuilderContext;
 import io.sundr.builder.internal.BuilderContextManager;
 import io.sundr.builder.internal.functions.TypeAs;
 import io.sundr.builder.internal.utils.BuilderUtils;
+import io.sundr.codegen.CodegenContext;
 import io.sundr.codegen.DefinitionRepository;
+import io.sundr.codegen.functions.ClassTo;
 import io.sundr.codegen.model.AttributeSupportFluent;
 import io.sundr.codegen.model.ClassRef;
 import io.sundr.codegen.model.ClassRefBuilder;
+import io.sundr.codegen.model.Kind;
 import io.sundr.codegen.model.Method;
 import io.sundr.codegen.model.MethodBuilder;
 import io.sundr.codegen.model.Property;
 import io.sundr.codegen.model.PropertyBuilder;
+import io.sundr.codegen.model.Statement;
+import io.sundr.codegen.model.StringStatement;
 import io.sundr.codegen.model.TypeDef;
 import io.sundr.codegen.model.TypeDefBuilder;
 import io.sundr.codegen.model.TypeRef;
 import io.sundr.codegen.processor.JavaGeneratingProcessor;
 import io.sundr.codegen.utils.TypeUtils;
 
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.Modifier;
+import javax.tools.Diagnostic;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import static io.sundr.builder.Constants.EMPTY;
 import static io.sundr.builder.Constants.EMPTY_FUNCTION_SNIPPET;
+import static io.sundr.builder.Constants.VALIDATION_ENABLED;
+import static io.sundr.builder.Constants.VISITOR_DISPATCHER_IMPL;
+import static io.sundr.codegen.utils.StringUtils.join;
 import static io.sundr.codegen.utils.StringUtils.loadResourceQuietly;
 
 public abstract class AbstractBuilderProcessor extends JavaGeneratingProcessor {
 
+    /**
+     * The elements the buildables were registered from, by buildable name.
+     * They are kept here rather than in the buildables, which outlive the compilation in the shared caches.
+     */
+    private final Map<String, Element> originatingElements = new HashMap<String, Element>();
+
+    @Override
+    protected void exitRound(CodegenContext previous, RoundEnvironment env) {
+        super.exitRound(previous, env);
+        if (env.processingOver()) {
+            originatingElements.clear();
+        }
+    }
+
+    @Override
+    protected boolean canRenderDirectly(String resourceName) {
+        return Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION.equals(resourceName);
+    }
+
+    /**
+     * Records the element the specified buildable was registered from.
+     * @param buildable The buildable.
+     * @param element   The element.
+     * @return          The buildable.
+     */
+    TypeDef originatesFrom(TypeDef buildable, Element element) {
+        originatingElements.put(buildable.getFullyQualifiedName(), element);
+        return buildable;
+    }
+
     void generateLocalDependenciesIfNeeded() {
         BuilderContext context = BuilderContextManager.getContext();
         if (context.getGenerateBuilderPackage() && !Constants.DEFAULT_BUILDER_PACKAGE.equals(context.getBuilderPackage())) {
+            generateValidatorHolderIfNeeded(context);
+            Element[] originatingElements = originatingElementsOf(context.getBuildableRepository().getBuildables());
             try {
                 generateFromClazz(context.getVisitableInterface(),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                        originatingElements
                 );
                 generateFromClazz(context.getVisitorInterface(),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                        originatingElements
                 );
                 generateFromClazz(context.getTypedVisitorInterface(),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                        originatingElements
                 );
 
                 generateFromClazz(context.getPathAwareVisitorClass(),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                        originatingElements
                 );
 
                 generateFromClazz(context.getVisitableBuilderInterface(),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                        originatingElements
+                );
+                generateFromClazz(context.getVisitableRegistryClass(),
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                        originatingElements
+                );
+                generateFromClazz(context.getClassCacheClass(),
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                        originatingElements
+                );
+                generateFromClazz(context.getVisitorDispatcherClass(),
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                        originatingElements
                 );
                 generateFromClazz(context.getBuilderInterface(),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                        originatingElements
                 );
 
                 generateFromClazz(context.getFluentInterface(),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                        originatingElements
                 );
 
                 generateFromClazz(context.getBaseFluentClass(),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                        originatingElements
                 );
 
                 generateFromClazz(context.getNestedInterface(),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                        originatingElements
                 );
                 generateFromClazz(context.getEditableInterface(),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                        originatingElements
                 );
 
                 generateFromClazz(context.getFunctionInterface(),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                        originatingElements
                 );
             } catch (Exception e) {
                 //
@@ -103,6 +171,148 @@ public abstract class AbstractBuilderProcessor extends JavaGeneratingProcessor {
         }
     }
 
+    /**
+     * Generates the holder of the shared validator into the builder package, if there are builders with validation enabled.
+     * It is not generated otherwise, as it depends on javax.validation.
+     * @param ctx   The builder context.
+     */
+    void generateValidatorHolderIfNeeded(BuilderContext ctx) {
+        List<TypeDef> validated = new ArrayList<TypeDef>();
+        for (TypeDef buildable : ctx.getBuildableRepository().getBuildables()) {
+            if (Boolean.TRUE.equals(buildable.getAttributes().get(VALIDATION_ENABLED))) {
+                validated.add(buildable);
+            }
+        }
+
+        if (validated.isEmpty()) {
+            return;
+        }
+
+        try {
+            generateFromClazz(ctx.getValidatorHolderClass(), Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                    originatingElementsOf(validated));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Generates a visitor dispatcher for each package that contains buildables with visitor dispatch enabled.
+     * The dispatcher maps the type ids assigned by the {@link io.sundr.builder.internal.BuildableRepository} to builder classes.
+     * @param ctx   The builder context.
+     * @throws IOException
+     */
+    void generateVisitorDispatchers(BuilderContext ctx) throws IOException {
+        for (Map.Entry<String, List<TypeDef>> entry : ctx.getBuildableRepository().getDispatchedBuildables().entrySet()) {
+            generateFromClazz(visitorDispatcherOf(ctx, entry.getKey(), entry.getValue()),
+                    Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                    originatingElementsOf(entry.getValue()));
+        }
+    }
+
+    /**
+     * Reports which descendants were pruned by {@link io.sundr.builder.annotations.FilterDescendants}.
+     * Each pruned descendant saves the nested fluent and the with/add/edit methods that would have been generated for it.
+     * @param ctx   The builder context.
+     */
+    void reportFilteredDescendants(BuilderContext ctx) {
+        Map<String, Map<String, Boolean>> decisions = ctx.getBuildableRepository().removeDescendantFilterDecisions();
+        if (decisions.isEmpty()) {
+            return;
+        }
+        int total = 0;
+        int pruned = 0;
+        for (Map.Entry<String, Map<String, Boolean>> entry : decisions.entrySet()) {
+            List<String> filtered = new ArrayList<String>();
+            for (Map.Entry<String, Boolean> decision : entry.getValue().entrySet()) {
+                if (decision.getValue()) {
+                    filtered.add(decision.getKey());
+                }
+            }
+            total += entry.getValue().size();
+            pruned += filtered.size();
+            if (!filtered.isEmpty()) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "@FilterDescendants on " + entry.getKey() + " pruned " + join(filtered, ", "));
+            }
+        }
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "@FilterDescendants pruned " + pruned + " of " + total + " descendants.");
+    }
+
+    /**
+     * Returns the elements the specified buildables were registered from.
+     * Classes generated for a buildable originate from its element, while classes shared by many buildables
+     * (e.g. visitor dispatchers) originate from the elements of all of them.
+     * @param buildables    The buildables.
+     * @return              The originating elements, without duplicates.
+     */
+    Element[] originatingElementsOf(Collection<TypeDef> buildables) {
+        Set<Element> elements = new LinkedHashSet<Element>();
+        for (TypeDef buildable : buildables) {
+            Element element = originatingElements.get(buildable.getFullyQualifiedName());
+            if (element != null) {
+                elements.add(element);
+            }
+        }
+        return elements.toArray(new Element[elements.size()]);
+    }
+
+    Element[] originatingElementsOf(TypeDef buildable) {
+        return originatingElementsOf(Collections.singleton(buildable));
+    }
+
+    static TypeDef visitorDispatcherOf(BuilderContext ctx, String packageName, List<TypeDef> buildables) {
+        TypeDef dispatcherType = new TypeDefBuilder()
+                .withKind(Kind.CLASS)
+                .withPackageName(packageName)
+                .withName(VISITOR_DISPATCHER_IMPL)
+                .build();
+
+        List<Statement> typeOf = new ArrayList<Statement>();
+        typeOf.add(new StringStatement("switch (typeId) {"));
+        for (int i = 0; i < buildables.size(); i++) {
+            typeOf.add(new StringStatement(String.format(TYPE_ID_CASE_FORMAT, i, TypeAs.BUILDER.apply(buildables.get(i)).getFullyQualifiedName())));
+        }
+        typeOf.add(new StringStatement(TYPE_ID_DEFAULT_CASE));
+        typeOf.add(new StringStatement("}"));
+
+        Property instance = new PropertyBuilder()
+                .withTypeRef(dispatcherType.toInternalReference())
+                .withName(INSTANCE)
+                .withModifiers(TypeUtils.modifiersToInt(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL))
+                .addToAttributes(Constants.INIT, "new " + VISITOR_DISPATCHER_IMPL + "()")
+                .build();
+
+        Method size = new MethodBuilder()
+                .withModifiers(TypeUtils.modifiersToInt(Modifier.PUBLIC))
+                .withReturnType(ClassTo.TYPEREF.apply(int.class))
+                .withName("size")
+                .withNewBlock()
+                    .addNewStringStatementStatement("return " + buildables.size() + ";")
+                .endBlock()
+                .build();
+
+        Method typeOfMethod = new MethodBuilder()
+                .withModifiers(TypeUtils.modifiersToInt(Modifier.PUBLIC))
+                .withReturnType(new ClassRefBuilder().withDefinition(Constants.CLASS).build())
+                .withName("typeOf")
+                .addNewArgument()
+                    .withName("typeId")
+                    .withTypeRef(ClassTo.TYPEREF.apply(int.class))
+                .and()
+                .withNewBlock()
+                    .withStatements(typeOf)
+                .endBlock()
+                .build();
+
+        return new TypeDefBuilder(dispatcherType)
+                .withModifiers(TypeUtils.modifiersToInt(Modifier.PUBLIC))
+                .withExtendsList(ctx.getVisitorDispatcherClass().toInternalReference())
+                .withProperties(instance)
+                .withMethods(size, typeOfMethod)
+                .build();
+    }
 
     static TypeDef inlineableOf(BuilderContext ctx, TypeDef type, Inline inline) {
         final String inlineableName = !inline.name().isEmpty()
@@ -222,23 +432,18 @@ public abstract class AbstractBuilderProcessor extends JavaGeneratingProcessor {
     public void addCustomMappings(BuilderContext builderContext) {
         DefinitionRepository definitionRepository = builderContext.getDefinitionRepository();
 
-        List<ClassRef> refs = new ArrayList<ClassRef>();
-        for (TypeDef typeDef : builderContext.getDefinitionRepository().getDefinitions()) {
-            refs.add(typeDef.toInternalReference());
-        }
-
+        //Only buildables get custom mappings, so there is no need to sort all the definitions.
         //It's best to have predictable order, so that we can generate uniform code.
-        Collections.sort(refs, new Comparator<ClassRef>() {
-            @Override
-            public int compare(ClassRef o1, ClassRef o2) {
-                return o1.getFullyQualifiedName().compareTo(o2.getFullyQualifiedName());
-            }
-        });
-
-        for (ClassRef ref : refs) {
-            String key = ref.getName();
+        Set<String> buildables = new TreeSet<String>();
+        for (TypeDef buildable : builderContext.getBuildableRepository().getBuildables()) {
+            buildables.add(buildable.getFullyQualifiedName());
+        }
 
-            if (BuilderUtils.isBuildable(ref)) {
+        for (String fullyQualifiedName : buildables) {
+            TypeDef typeDef = definitionRepository.getDefinition(fullyQualifiedName);
+            if (typeDef != null) {
+                ClassRef ref = typeDef.toInternalReference();
+                String key = ref.getName();
 
                 //Add the builder
                 String builderKey = key + "Builder";
@@ -269,6 +474,10 @@ public abstract class AbstractBuilderProcessor extends JavaGeneratingProcessor {
 
     private static final String EMPTY_FUNCTION_TEXT = loadResourceQuietly(EMPTY_FUNCTION_SNIPPET);
 
+    private static final String INSTANCE = "INSTANCE";
+    private static final String TYPE_ID_CASE_FORMAT = "case %d: return %s.class;";
+    private static final String TYPE_ID_DEFAULT_CASE = "default: throw new IllegalArgumentException(\"Unknown type id: \" + typeId);";
+
     private static final String BUILDER = "builder";
     private static final String FUNCTION = "function";
     private static final String ITEM = "item";
@@ -16,6 +16,7 @@
 
 package io.sundr.builder.internal.processor;
 
+import io.sundr.FunctionCache;
 import io.sundr.builder.Constants;
 import io.sundr.builder.annotations.Buildable;
 import io.sundr.builder.annotations.Inline;
@@ -23,6 +24,7 @@ import io.sundr.builder.internal.BuilderContext;
 import io.sundr.builder.internal.BuilderContextManager;
 import io.sundr.builder.internal.functions.ClazzAs;
 import io.sundr.builder.internal.utils.BuilderUtils;
+import io.sundr.codegen.CodegenContext;
 import io.sundr.codegen.functions.ElementTo;
 import io.sundr.codegen.model.TypeDef;
 import io.sundr.codegen.model.TypeDefBuilder;
@@ -36,16 +38,31 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static io.sundr.builder.Constants.BUILDABLE;
 import static io.sundr.builder.Constants.EDIATABLE_ENABLED;
 import static io.sundr.builder.Constants.VALIDATION_ENABLED;
+import static io.sundr.builder.Constants.VISITOR_DISPATCH_ENABLED;
 
 @SupportedAnnotationTypes("io.sundr.builder.annotations.Buildable")
 public class BuildableProcessor extends AbstractBuilderProcessor {
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        CodegenContext previous = enterRound();
+        try {
+            return processRound(annotations, env);
+        } finally {
+            exitRound(previous, env);
+        }
+    }
+
+    private boolean processRound(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        FunctionCache.nextRound(env);
         Elements elements = processingEnv.getElementUtils();
         Types types = processingEnv.getTypeUtils();
         Filer filer = processingEnv.getFiler();
@@ -61,24 +78,27 @@ public class BuildableProcessor extends AbstractBuilderProcessor {
                 }
 
                 ctx = BuilderContextManager.create(elements, types, buildable.generateBuilderPackage(), buildable.builderPackage());
-                        TypeDef b = new TypeDefBuilder(ElementTo.TYPEDEF.apply(ModelUtils.getClassElement(element)))
+                TypeElement classElement = ModelUtils.getClassElement(element);
+                        TypeDef b = new TypeDefBuilder(ElementTo.TYPEDEF.apply(classElement))
                                 .addToAttributes(BUILDABLE, buildable)
                                 .addToAttributes(EDIATABLE_ENABLED, buildable.editableEnabled())
                                 .addToAttributes(VALIDATION_ENABLED, buildable.validationEnabled())
+                                .addToAttributes(VISITOR_DISPATCH_ENABLED, buildable.visitorDispatchEnabled())
                                 .build();
 
                     ctx.getDefinitionRepository().register(b);
-                    ctx.getBuildableRepository().register(b);
+                    ctx.getBuildableRepository().register(originatesFrom(b, classElement));
 
                 for (TypeElement ref : BuilderUtils.getBuildableReferences(ctx, buildable)) {
                     TypeDef r = new TypeDefBuilder(ElementTo.TYPEDEF.apply(ModelUtils.getClassElement(ref)))
                             .addToAttributes(BUILDABLE, buildable)
                             .addToAttributes(EDIATABLE_ENABLED, buildable.editableEnabled())
                             .addToAttributes(VALIDATION_ENABLED, buildable.validationEnabled())
+                            .addToAttributes(VISITOR_DISPATCH_ENABLED, buildable.visitorDispatchEnabled())
                             .build();
 
                     ctx.getDefinitionRepository().register(r);
-                    ctx.getBuildableRepository().register(r);
+                    ctx.getBuildableRepository().register(originatesFrom(r, classElement));
                 }
             }
         }
@@ -90,46 +110,82 @@ public class BuildableProcessor extends AbstractBuilderProcessor {
         addCustomMappings(ctx);
         ctx.getDefinitionRepository().updateReferenceMap();
 
-        int total = ctx.getBuildableRepository().getBuildables().size();
+        Set<TypeDef> buildables = ctx.getBuildableRepository().getBuildables();
+        Map<String, TypeDef> editables = editablesOf(buildables);
+        int total = buildables.size();
         int count = 0;
-        for (TypeDef typeDef : ctx.getBuildableRepository().getBuildables()) {
+        for (TypeDef typeDef : buildables) {
             try {
                 double percentage = 100 * (count++) / total;
                 System.err.println(Math.round(percentage)+"%: " + typeDef.getFullyQualifiedName());
 
-                generateFromClazz(ClazzAs.FLUENT_INTERFACE.apply(typeDef),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
-
-                generateFromClazz(ClazzAs.FLUENT_IMPL.apply(typeDef),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
-
-                if (typeDef.isAbstract()) {
-                    continue;
-                }
-
-                if (typeDef.getAttributes().containsKey(EDIATABLE_ENABLED) && (Boolean) typeDef.getAttributes().get(EDIATABLE_ENABLED)) {
-                    generateFromClazz(ClazzAs.EDITABLE_BUILDER.apply(typeDef),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
-
-                    generateFromClazz(ClazzAs.EDITABLE.apply(typeDef),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
-                } else {
-                    generateFromClazz(ClazzAs.BUILDER.apply(typeDef),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
-                }
-
-                Buildable buildable = (Buildable) typeDef.getAttributes().get(BUILDABLE);
-                if (buildable != null) {
-                    for (final Inline inline : buildable.inline()) {
-                        generateFromClazz(inlineableOf(ctx, typeDef, inline),
-                                Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
-                    }
+                Element[] originatingElements = originatingElementsOf(typeDef);
+                for (TypeDef generated : generatedTypesOf(ctx, typeDef, editables)) {
+                    generateFromClazz(generated, Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION, originatingElements);
                 }
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
         }
+        try {
+            generateVisitorDispatchers(ctx);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        reportFilteredDescendants(ctx);
         System.err.println("100%: Builder generation complete.");
         return true;
     }
+
+    /**
+     * Creates the editables of the specified buildables.
+     * Editables register themselves as buildables and are visible to the classes created afterwards.
+     * So they are all created upfront, to make the output independent of the order the buildables are processed in.
+     * @param buildables    The buildables.
+     * @return              The editables, by buildable name.
+     */
+    private static Map<String, TypeDef> editablesOf(Set<TypeDef> buildables) {
+        Map<String, TypeDef> editables = new HashMap<String, TypeDef>();
+        for (TypeDef typeDef : buildables) {
+            if (!typeDef.isAbstract() && isEditableEnabled(typeDef)) {
+                editables.put(typeDef.getFullyQualifiedName(), ClazzAs.EDITABLE.apply(typeDef));
+            }
+        }
+        return editables;
+    }
+
+    /**
+     * Creates the classes to generate for the specified buildable, in the order they are generated.
+     * @param ctx           The builder context.
+     * @param typeDef       The buildable.
+     * @param editables     The editables of the buildables, by buildable name.
+     * @return              The classes to generate.
+     */
+    private List<TypeDef> generatedTypesOf(BuilderContext ctx, TypeDef typeDef, Map<String, TypeDef> editables) {
+        List<TypeDef> result = new ArrayList<TypeDef>();
+        result.add(ClazzAs.FLUENT_INTERFACE.apply(typeDef));
+        result.add(ClazzAs.FLUENT_IMPL.apply(typeDef));
+        if (typeDef.isAbstract()) {
+            return result;
+        }
+
+        if (isEditableEnabled(typeDef)) {
+            result.add(ClazzAs.EDITABLE_BUILDER.apply(typeDef));
+            result.add(editables.get(typeDef.getFullyQualifiedName()));
+        } else {
+            result.add(ClazzAs.BUILDER.apply(typeDef));
+        }
+
+        Buildable buildable = (Buildable) typeDef.getAttributes().get(BUILDABLE);
+        if (buildable != null) {
+            for (final Inline inline : buildable.inline()) {
+                result.add(inlineableOf(ctx, typeDef, inline));
+            }
+        }
+        return result;
+    }
+
+    private static boolean isEditableEnabled(TypeDef typeDef) {
+        return typeDef.getAttributes().containsKey(EDIATABLE_ENABLED) && (Boolean) typeDef.getAttributes().get(EDIATABLE_ENABLED);
+    }
 }
@@ -16,6 +16,7 @@
 
 package io.sundr.builder.internal.processor;
 
+import io.sundr.FunctionCache;
 import io.sundr.builder.Constants;
 import io.sundr.builder.annotations.ExternalBuildables;
 import io.sundr.builder.annotations.Inline;
@@ -23,6 +24,7 @@ import io.sundr.builder.internal.BuilderContext;
 import io.sundr.builder.internal.BuilderContextManager;
 import io.sundr.builder.internal.functions.ClazzAs;
 import io.sundr.builder.internal.utils.BuilderUtils;
+import io.sundr.codegen.CodegenContext;
 import io.sundr.codegen.functions.ElementTo;
 import io.sundr.codegen.model.TypeDef;
 import io.sundr.codegen.model.TypeDefBuilder;
@@ -45,6 +47,16 @@ import static io.sundr.builder.Constants.VALIDATION_ENABLED;
 public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        CodegenContext previous = enterRound();
+        try {
+            return processRound(annotations, env);
+        } finally {
+            exitRound(previous, env);
+        }
+    }
+
+    private boolean processRound(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        FunctionCache.nextRound(env);
         Elements elements = processingEnv.getElementUtils();
         Types types = processingEnv.getTypeUtils();
         Filer filer = processingEnv.getFiler();
@@ -61,6 +73,7 @@ public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
                     continue;
                 }
                 ctx = BuilderContextManager.create(elements, types, generated.generateBuilderPackage(), generated.builderPackage());
+                TypeElement classElement = ModelUtils.getClassElement(element);
 
                 for (String name : generated.value()) {
                     TypeElement typeElement = elements.getTypeElement(name);
@@ -70,7 +83,7 @@ public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
                             .build();
 
                     ctx.getDefinitionRepository().register(b);
-                    ctx.getBuildableRepository().register(b);
+                    ctx.getBuildableRepository().register(originatesFrom(b, classElement));
                 }
 
                 for (TypeElement ref : BuilderUtils.getBuildableReferences(ctx, generated)) {
@@ -80,7 +93,7 @@ public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
                             .build();
 
                     ctx.getDefinitionRepository().register(r);
-                    ctx.getBuildableRepository().register(r);
+                    ctx.getBuildableRepository().register(originatesFrom(r, classElement));
                 }
             }
         }
@@ -99,30 +112,32 @@ public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
             try {
                 double percentage = 100 * (count++) / total;
                 System.err.println(Math.round(percentage)+"%: " + typeDef.getFullyQualifiedName());
+                Element[] originatingElements = originatingElementsOf(typeDef);
 
                 generateFromClazz(ClazzAs.FLUENT_INTERFACE.apply(typeDef),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION, originatingElements);
 
                 if (generated.editableEnabled()) {
                     generateFromClazz(ClazzAs.EDITABLE_BUILDER.apply(typeDef),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION, originatingElements);
 
                     generateFromClazz(ClazzAs.EDITABLE.apply(typeDef),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION, originatingElements);
                 } else {
                     generateFromClazz(ClazzAs.BUILDER.apply(typeDef),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION, originatingElements);
                 }
 
 
                 for (final Inline inline : generated.inline()) {
                     generateFromClazz(inlineableOf(ctx, typeDef, inline),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION, originatingElements);
                 }
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
         }
+        reportFilteredDescendants(ctx);
         System.err.println("100%: Builder generation complete.");
         return true;
     }
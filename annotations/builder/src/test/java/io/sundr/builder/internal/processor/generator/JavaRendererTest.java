@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder.internal.processor.generator;
+
+import io.sundr.builder.Constants;
+import io.sundr.codegen.functions.Sources;
+import io.sundr.codegen.generator.CodeGeneratorBuilder;
+import io.sundr.codegen.generator.JavaRenderer;
+import io.sundr.codegen.model.Block;
+import io.sundr.codegen.model.ClassRefBuilder;
+import io.sundr.codegen.model.Kind;
+import io.sundr.codegen.model.PrimitiveRefBuilder;
+import io.sundr.codegen.model.Statement;
+import io.sundr.codegen.model.StringStatement;
+import io.sundr.codegen.model.TypeDef;
+import io.sundr.codegen.model.TypeDefBuilder;
+import io.sundr.codegen.model.TypeRef;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class JavaRendererTest {
+
+    private static final TypeRef INT = new PrimitiveRefBuilder().withName("int").build();
+
+    private static final TypeDef INNER_CLASS = new TypeDefBuilder()
+            .withPackageName("my.test")
+            .withName("Inner")
+            .withModifiers(Modifier.PUBLIC)
+            .addNewProperty()
+                .withName("x")
+                .withTypeRef(INT)
+            .endProperty()
+            .addNewConstructor()
+                .withModifiers(Modifier.PUBLIC)
+                .withBlock(block("this.x = 1;", "init();"))
+            .endConstructor()
+            .addNewMethod()
+                .withName("getX")
+                .withModifiers(Modifier.PUBLIC)
+                .withReturnType(INT)
+                .withBlock(block("return x;"))
+            .endMethod()
+            .addNewMethod()
+                .withName("init")
+                .withReturnType(INT)
+            .endMethod()
+            .build();
+
+    private static final TypeDef INNER_INTERFACE = new TypeDefBuilder()
+            .withKind(Kind.INTERFACE)
+            .withPackageName("my.test")
+            .withName("InnerInterface")
+            .addNewMethod()
+                .withName("getX")
+                .withReturnType(INT)
+            .endMethod()
+            .build();
+
+    @Test
+    public void testSameOutputAsTemplate() throws IOException {
+        for (Kind kind : new Kind[]{Kind.CLASS, Kind.INTERFACE}) {
+            TypeDef type = new TypeDefBuilder()
+                    .withKind(kind)
+                    .withPackageName("my.test")
+                    .withName("Circle")
+                    .withModifiers(Modifier.PUBLIC)
+                    .addNewProperty()
+                        .withName("radius")
+                        .withModifiers(Modifier.PRIVATE)
+                        .withTypeRef(INT)
+                        .addToAttributes("INIT", "5")
+                    .endProperty()
+                    .addNewProperty()
+                        .withName("names")
+                        .withModifiers(Modifier.PRIVATE)
+                        .withTypeRef(new ClassRefBuilder().withNewDefinition().withPackageName("java.util").withName("List").endDefinition().build())
+                    .endProperty()
+                    .addNewConstructor()
+                        .withModifiers(Modifier.PUBLIC)
+                        .withBlock(block("this.radius = 1;"))
+                    .endConstructor()
+                    .addNewConstructor()
+                        .withModifiers(Modifier.PUBLIC)
+                    .endConstructor()
+                    .addNewMethod()
+                        .withName("getRadius")
+                        .withModifiers(Modifier.PUBLIC)
+                        .withReturnType(INT)
+                        .withBlock(block("return radius;"))
+                    .endMethod()
+                    .addNewMethod()
+                        .withName("area")
+                        .withModifiers(Modifier.PUBLIC | Modifier.ABSTRACT)
+                        .withReturnType(INT)
+                    .endMethod()
+                    .withInnerTypes(INNER_CLASS, INNER_INTERFACE)
+                    .build();
+
+            assertSameOutput(type);
+        }
+    }
+
+    @Test
+    public void testSameOutputAsTemplateForBuilderSources() throws IOException {
+        for (String name : new String[]{"Builder", "Visitor", "TypedVisitor", "BaseFluent", "VisitableRegistry", "VisitorDispatcher"}) {
+            assertSameOutput(Sources.FROM_CLASSPATH_TO_SINGLE_TYPEDEF.apply("io/sundr/builder/" + name + ".java"));
+        }
+    }
+
+    private static void assertSameOutput(TypeDef type) throws IOException {
+        StringWriter writer = new StringWriter();
+        new CodeGeneratorBuilder<TypeDef>()
+                .withModel(type)
+                .withWriter(writer)
+                .withTemplateResource(Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION)
+                .build()
+                .generate();
+
+        StringBuilder sb = new StringBuilder();
+        new JavaRenderer().render(type, sb);
+        assertEquals(writer.toString(), sb.toString());
+    }
+
+    private static Block block(String... statements) {
+        List<Statement> result = new ArrayList<Statement>();
+        for (String statement : statements) {
+            result.add(new StringStatement(statement));
+        }
+        return new Block(result);
+    }
+}
@@ -25,7 +25,7 @@ import java.lang.annotation.Target;
  * This annotation allows you to explicitly define the generated interface name.
  */
 @Target({ElementType.TYPE, ElementType.METHOD})
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface InterfaceName {
     String value();
 }
@@ -25,7 +25,7 @@ import java.lang.annotation.Target;
  * An annotation to specify that the current method or annotation acts as a keyword (transition candidate).
  */
 @Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Keyword {
     String[] value() default {};
 }
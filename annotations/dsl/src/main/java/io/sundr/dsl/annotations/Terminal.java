@@ -26,6 +26,6 @@ import java.lang.annotation.Target;
  * After the terminal method is added to the chain no other methods should be called.
  */
 @Target(ElementType.METHOD)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Terminal {
 }
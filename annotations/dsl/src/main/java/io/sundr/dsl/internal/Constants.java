@@ -60,6 +60,7 @@ public final class Constants {
     public static final TypeParamRef TRANSPARENT_REF = new TypeParamRefBuilder().withName("T").addToAttributes(IS_GENERIC, true).build();
 
     public static final String FILTER = "FILTER";
+    public static final String LABEL_FILTER = "LABEL_FILTER";
 
     public static final String SCOPE_SUFFIX = "Scope";
 }
@@ -19,6 +19,7 @@ package io.sundr.dsl.internal.element.functions.filter;
 import io.sundr.codegen.model.TypeDef;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -43,4 +44,22 @@ public class AndTransitionFilter implements TransitionFilter {
         }
         return true;
     }
+
+    public LabelFilter compile(LabelIndex index) {
+        final LabelFilter[] compiled = new LabelFilter[filters.size()];
+        int i = 0;
+        for (TransitionFilter filter : filters) {
+            compiled[i++] = filter.compile(index);
+        }
+        return new LabelFilter() {
+            public Boolean apply(BitSet labels) {
+                for (LabelFilter filter : compiled) {
+                    if (!filter.apply(labels)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        };
+    }
 }
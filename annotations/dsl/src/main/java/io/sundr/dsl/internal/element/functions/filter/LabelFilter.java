@@ -0,0 +1,30 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.dsl.internal.element.functions.filter;
+
+import io.sundr.Function;
+
+import java.util.BitSet;
+
+/**
+ * A {@link TransitionFilter} compiled against a {@link LabelIndex}.
+ * It accepts the labels of a path instead of the path itself, so that it can be checked with a few bitwise operations.
+ */
+public interface LabelFilter extends Function<BitSet, Boolean> {
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.dsl.internal.element.functions.filter;
+
+import io.sundr.codegen.model.TypeDef;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static io.sundr.dsl.internal.Constants.CLASSES;
+import static io.sundr.dsl.internal.Constants.KEYWORDS;
+import static io.sundr.dsl.internal.Constants.METHODS;
+
+/**
+ * Assigns a dense id to each class, keyword and method of a DSL.
+ * The labels of a type or a path are then represented as a {@link BitSet}, which is what {@link LabelFilter}s are checked against.
+ * Classes, keywords and methods are kept apart, so the same name gets a different id in each of them.
+ */
+public class LabelIndex {
+
+    private final Map<String, Map<String, Integer>> ids = new HashMap<String, Map<String, Integer>>();
+    private final Map<String, BitSet> namespaces = new HashMap<String, BitSet>();
+    //Types are immutable, so their labels can be cached by identity.
+    private final Map<TypeDef, BitSet> labelsOfType = new IdentityHashMap<TypeDef, BitSet>();
+    private int nextId;
+
+    /**
+     * Returns the id of the specified label, assigning a new one if needed.
+     * @param namespace     The namespace of the label (one of {@link io.sundr.dsl.internal.Constants#CLASSES},
+     *                      {@link io.sundr.dsl.internal.Constants#KEYWORDS} and {@link io.sundr.dsl.internal.Constants#METHODS}).
+     * @param label         The label.
+     * @return              The id.
+     */
+    public int idOf(String namespace, String label) {
+        Map<String, Integer> idsOfNamespace = ids.get(namespace);
+        if (idsOfNamespace == null) {
+            idsOfNamespace = new HashMap<String, Integer>();
+            ids.put(namespace, idsOfNamespace);
+        }
+        Integer id = idsOfNamespace.get(label);
+        if (id == null) {
+            id = nextId++;
+            idsOfNamespace.put(label, id);
+            getNamespace(namespace).set(id);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the ids of all the labels of the specified namespace.
+     * The mask grows as new labels are added to the index, so it should not be modified or copied.
+     * @param namespace     The namespace.
+     * @return              The mask of the namespace.
+     */
+    public BitSet getNamespace(String namespace) {
+        BitSet mask = namespaces.get(namespace);
+        if (mask == null) {
+            mask = new BitSet();
+            namespaces.put(namespace, mask);
+        }
+        return mask;
+    }
+
+    public BitSet maskOf(String namespace, Collection<String> labels) {
+        BitSet mask = new BitSet();
+        if (labels != null) {
+            for (String label : labels) {
+                mask.set(idOf(namespace, label));
+            }
+        }
+        return mask;
+    }
+
+    public BitSet maskOf(Set<String> classes, Set<String> keywords, Set<String> methods) {
+        BitSet mask = maskOf(CLASSES, classes);
+        mask.or(maskOf(KEYWORDS, keywords));
+        mask.or(maskOf(METHODS, methods));
+        return mask;
+    }
+
+    /**
+     * Returns the classes, keywords and methods of the specified type.
+     * The result is cached and should not be modified.
+     * @param type  The type.
+     * @return      The labels of the type.
+     */
+    public BitSet labelsOf(TypeDef type) {
+        BitSet labels = labelsOfType.get(type);
+        if (labels == null) {
+            labels = maskOf((Set<String>) type.getAttributes().get(CLASSES),
+                    (Set<String>) type.getAttributes().get(KEYWORDS),
+                    (Set<String>) type.getAttributes().get(METHODS));
+            labelsOfType.put(type, labels);
+        }
+        return labels;
+    }
+
+    public BitSet labelsOf(Collection<TypeDef> types) {
+        BitSet labels = new BitSet();
+        for (TypeDef type : types) {
+            labels.or(labelsOf(type));
+        }
+        return labels;
+    }
+}
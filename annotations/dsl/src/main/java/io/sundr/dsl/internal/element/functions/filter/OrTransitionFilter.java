@@ -18,6 +18,7 @@ package io.sundr.dsl.internal.element.functions.filter;
 
 import io.sundr.codegen.model.TypeDef;
 
+import java.util.BitSet;
 import java.util.Collection;
 
 public class OrTransitionFilter implements TransitionFilter {
@@ -36,4 +37,21 @@ public class OrTransitionFilter implements TransitionFilter {
         }
         return false;
     }
+
+    public LabelFilter compile(LabelIndex index) {
+        final LabelFilter[] compiled = new LabelFilter[filters.length];
+        for (int i = 0; i < filters.length; i++) {
+            compiled[i] = filters[i].compile(index);
+        }
+        return new LabelFilter() {
+            public Boolean apply(BitSet labels) {
+                for (LabelFilter filter : compiled) {
+                    if (filter.apply(labels)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
 }
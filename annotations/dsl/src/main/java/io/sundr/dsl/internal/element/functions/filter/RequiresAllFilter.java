@@ -18,6 +18,7 @@ package io.sundr.dsl.internal.element.functions.filter;
 
 import io.sundr.codegen.model.TypeDef;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Set;
 
@@ -62,4 +63,18 @@ public class RequiresAllFilter implements TransitionFilter {
         }
         return true;
     }
+
+    public LabelFilter compile(LabelIndex index) {
+        final BitSet required = index.maskOf(classes, keywords, methods);
+        return new LabelFilter() {
+            public Boolean apply(BitSet labels) {
+                for (int i = required.nextSetBit(0); i >= 0; i = required.nextSetBit(i + 1)) {
+                    if (!labels.get(i)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        };
+    }
 }
@@ -18,6 +18,7 @@ package io.sundr.dsl.internal.element.functions.filter;
 
 import io.sundr.codegen.model.TypeDef;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Set;
 
@@ -65,4 +66,13 @@ public class RequiresAnyFilter implements TransitionFilter {
         }
         return classes.isEmpty() && keywords.isEmpty() && methods.isEmpty();
     }
+
+    public LabelFilter compile(LabelIndex index) {
+        final BitSet any = index.maskOf(classes, keywords, methods);
+        return new LabelFilter() {
+            public Boolean apply(BitSet labels) {
+                return any.isEmpty() || labels.intersects(any);
+            }
+        };
+    }
 }
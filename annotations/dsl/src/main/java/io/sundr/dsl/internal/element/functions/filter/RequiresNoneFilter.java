@@ -18,9 +18,13 @@ package io.sundr.dsl.internal.element.functions.filter;
 
 import io.sundr.codegen.model.TypeDef;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Set;
 
+import static io.sundr.dsl.internal.Constants.CLASSES;
+import static io.sundr.dsl.internal.Constants.KEYWORDS;
+import static io.sundr.dsl.internal.Constants.METHODS;
 import static io.sundr.dsl.internal.utils.GraphUtils.getClasses;
 import static io.sundr.dsl.internal.utils.GraphUtils.getKeywords;
 import static io.sundr.dsl.internal.utils.GraphUtils.getMethods;
@@ -40,4 +44,24 @@ public class RequiresNoneFilter implements TransitionFilter {
 
     }
 
+    public LabelFilter compile(LabelIndex index) {
+        final BitSet allClasses = index.getNamespace(CLASSES);
+        final BitSet allKeywords = index.getNamespace(KEYWORDS);
+        final BitSet allMethods = index.getNamespace(METHODS);
+        return new LabelFilter() {
+            public Boolean apply(BitSet labels) {
+                if (labels.intersects(allClasses) || labels.intersects(allKeywords)) {
+                    return false;
+                }
+                //methods can't be empty as there will always be at least the entry point
+                int methods = 0;
+                for (int i = labels.nextSetBit(0); i >= 0 && methods < 2; i = labels.nextSetBit(i + 1)) {
+                    if (allMethods.get(i)) {
+                        methods++;
+                    }
+                }
+                return methods < 2;
+            }
+        };
+    }
 }
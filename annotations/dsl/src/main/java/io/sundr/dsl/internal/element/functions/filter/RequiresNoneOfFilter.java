@@ -19,6 +19,7 @@ package io.sundr.dsl.internal.element.functions.filter;
 import io.sundr.codegen.model.TypeDef;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -67,4 +68,13 @@ public class RequiresNoneOfFilter implements TransitionFilter {
         }
         return true;
     }
+
+    public LabelFilter compile(LabelIndex index) {
+        final BitSet excluded = index.maskOf(classes, keywords, methods);
+        return new LabelFilter() {
+            public Boolean apply(BitSet labels) {
+                return !labels.intersects(excluded);
+            }
+        };
+    }
 }
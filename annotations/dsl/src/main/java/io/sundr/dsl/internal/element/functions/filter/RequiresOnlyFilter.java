@@ -18,9 +18,13 @@ package io.sundr.dsl.internal.element.functions.filter;
 
 import io.sundr.codegen.model.TypeDef;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Set;
 
+import static io.sundr.dsl.internal.Constants.CLASSES;
+import static io.sundr.dsl.internal.Constants.KEYWORDS;
+import static io.sundr.dsl.internal.Constants.METHODS;
 import static io.sundr.dsl.internal.utils.GraphUtils.getClasses;
 import static io.sundr.dsl.internal.utils.GraphUtils.getKeywords;
 import static io.sundr.dsl.internal.utils.GraphUtils.getMethods;
@@ -88,4 +92,42 @@ public class RequiresOnlyFilter implements TransitionFilter {
             return pathClasses.isEmpty() && pathKeywords.isEmpty() && pathMethods.isEmpty();
         }
     }
+
+    public LabelFilter compile(LabelIndex index) {
+        final BitSet allowed = index.maskOf(classes, keywords, methods);
+        //The namespaces grow as labels are indexed, so they are checked when the filter is applied.
+        final boolean restrictClasses = !classes.isEmpty();
+        final boolean restrictKeywords = !keywords.isEmpty();
+        final boolean restrictMethods = !methods.isEmpty();
+        final boolean hasRequirements = restrictClasses || restrictKeywords || restrictMethods;
+        final LabelFilter compiledFilter = filter.compile(index);
+        final boolean isExplicit = explicit;
+        final BitSet allClasses = index.getNamespace(CLASSES);
+        final BitSet allKeywords = index.getNamespace(KEYWORDS);
+        final BitSet allMethods = index.getNamespace(METHODS);
+
+        return new LabelFilter() {
+            public Boolean apply(BitSet labels) {
+                //Check that there is nothing undefined in the path.
+                for (int i = labels.nextSetBit(0); i >= 0; i = labels.nextSetBit(i + 1)) {
+                    if (allowed.get(i)) {
+                        continue;
+                    }
+                    if ((restrictClasses && allClasses.get(i))
+                            || (restrictKeywords && allKeywords.get(i))
+                            || (restrictMethods && allMethods.get(i))) {
+                        return false;
+                    }
+                }
+
+                if (hasRequirements) {
+                    return compiledFilter.apply(labels);
+                } else if (!isExplicit) {
+                    return true;
+                } else {
+                    return !labels.intersects(allClasses) && !labels.intersects(allKeywords) && !labels.intersects(allMethods);
+                }
+            }
+        };
+    }
 }
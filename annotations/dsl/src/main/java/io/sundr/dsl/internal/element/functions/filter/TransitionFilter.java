@@ -26,4 +26,10 @@ import java.util.Collection;
  */
 public interface TransitionFilter extends Function<Collection<TypeDef>, Boolean> {
 
+    /**
+     * Compiles the filter into a {@link LabelFilter}, which checks the labels of a path as indexed by the specified {@link LabelIndex}.
+     * @param index The index.
+     * @return      The compiled filter.
+     */
+    LabelFilter compile(LabelIndex index);
 }
@@ -17,10 +17,12 @@
 package io.sundr.dsl.internal.graph;
 
 import io.sundr.codegen.model.TypeDef;
+import io.sundr.dsl.internal.element.functions.filter.LabelIndex;
 import io.sundr.dsl.internal.utils.GraphUtils;
 import io.sundr.dsl.internal.utils.TypeDefUtils;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -34,12 +36,16 @@ public class NodeContext {
     private final List<TypeDef> path;
     private final Set<TypeDef> visited;
     private final Set<TypeDef> all;
+    private final LabelIndex labelIndex;
+    private final BitSet labels;
 
     public static class Builder {
         private TypeDef item;
         private List<TypeDef> path = new ArrayList<TypeDef>();
         private Set<TypeDef> visited = new HashSet<TypeDef>();
         private Set<TypeDef> all = new LinkedHashSet<TypeDef>();
+        private LabelIndex labelIndex;
+        private BitSet pathLabels;
 
         public Builder withItem(TypeDef item) {
             this.item = item;
@@ -48,6 +54,7 @@ public class NodeContext {
 
         public Builder withPath(List<TypeDef> path) {
             this.path = path;
+            this.pathLabels = null;
             return this;
         }
 
@@ -55,6 +62,22 @@ public class NodeContext {
             List<TypeDef> newPath = new ArrayList<TypeDef>(path);
             newPath.add(clazz);
             this.path = newPath;
+            this.pathLabels = null;
+            return this;
+        }
+
+        /**
+         * Sets the labels of the path, so that they don't need to be computed from the path.
+         * @param pathLabels    The labels of the path.
+         * @return              The builder.
+         */
+        public Builder withPathLabels(BitSet pathLabels) {
+            this.pathLabels = pathLabels;
+            return this;
+        }
+
+        public Builder withLabelIndex(LabelIndex labelIndex) {
+            this.labelIndex = labelIndex;
             return this;
         }
 
@@ -83,7 +106,7 @@ public class NodeContext {
         }
 
         public NodeContext build() {
-            return new NodeContext(item, path, visited, all);
+            return new NodeContext(item, path, visited, all, labelIndex, pathLabels);
         }
     }
 
@@ -92,10 +115,23 @@ public class NodeContext {
     }
 
     public NodeContext(TypeDef item, List<TypeDef> path, Set<TypeDef> visited, Set<TypeDef> all) {
+        this(item, path, visited, all, null, null);
+    }
+
+    public NodeContext(TypeDef item, List<TypeDef> path, Set<TypeDef> visited, Set<TypeDef> all, LabelIndex labelIndex, BitSet pathLabels) {
         this.item = item;
         this.path = path != null ? Collections.unmodifiableList(path) : Collections.<TypeDef>emptyList();
         this.visited = visited != null ? Collections.unmodifiableSet(visited) : Collections.<TypeDef>emptySet();
         this.all = all != null ? Collections.unmodifiableSet(all) : Collections.<TypeDef>emptySet();
+        this.labelIndex = labelIndex;
+        if (labelIndex != null) {
+            this.labels = pathLabels != null ? (BitSet) pathLabels.clone() : labelIndex.labelsOf(this.path);
+            if (item != null) {
+                this.labels.or(labelIndex.labelsOf(item));
+            }
+        } else {
+            this.labels = null;
+        }
     }
 
     public TypeDef getItem() {
@@ -130,6 +166,19 @@ public class NodeContext {
         return all;
     }
 
+    public LabelIndex getLabelIndex() {
+        return labelIndex;
+    }
+
+    /**
+     * Returns the labels of the path and the item, as indexed by the {@link LabelIndex} of the context.
+     * The labels are computed incrementally from the labels of the parent context and should not be modified.
+     * @return  The labels or null if the context has no {@link LabelIndex}.
+     */
+    public BitSet getLabels() {
+        return labels;
+    }
+
     public List<String> getActiveScopes() {
         return GraphUtils.getScopes(getPathTypes());
     }
@@ -138,19 +187,23 @@ public class NodeContext {
         return builder().withItem(item)
                 .withPath(new ArrayList<TypeDef>(path))
                 .withVisited(new HashSet<TypeDef>(visited))
-                .withAll(new HashSet<TypeDef>(all));
+                .withAll(new HashSet<TypeDef>(all))
+                .withLabelIndex(labelIndex);
     }
 
     public Builder contextOfChild(TypeDef child) {
         if (TypeDefUtils.isBeginScope(child)) {
-            return builder().withItem(child).withAll(new HashSet<TypeDef>(all));
+            return builder().withItem(child).withAll(new HashSet<TypeDef>(all)).withLabelIndex(labelIndex);
         }
 
-        return but().withItem(child)
-                .withPath(new ArrayList<TypeDef>(path))
+        //addToPath and addToVisited copy, so there is no need to copy path and visited upfront.
+        return builder().withItem(child)
+                .withPath(path)
                 .addToPath(item)
-                .withVisited(new HashSet<TypeDef>(visited))
+                .withVisited(visited)
                 .addToVisited(item)
-                .withAll(new LinkedHashSet<TypeDef>(all));
+                .withAll(new LinkedHashSet<TypeDef>(all))
+                .withLabelIndex(labelIndex)
+                .withPathLabels(labels);
     }
 }
@@ -37,8 +37,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static io.sundr.dsl.internal.Constants.BEGIN_SCOPE;
@@ -48,6 +51,7 @@ import static io.sundr.dsl.internal.Constants.IS_GENERATED;
 import static io.sundr.dsl.internal.Constants.KEYWORDS;
 import static io.sundr.dsl.internal.Constants.SCOPE_SUFFIX;
 import static io.sundr.dsl.internal.utils.GraphUtils.exclusion;
+import static io.sundr.dsl.internal.utils.GraphUtils.getScopes;
 import static io.sundr.dsl.internal.utils.GraphUtils.isSatisfied;
 import static io.sundr.dsl.internal.utils.TypeDefUtils.isBeginScope;
 import static io.sundr.dsl.internal.utils.TypeDefUtils.isEndScope;
@@ -72,6 +76,7 @@ public class Nodes {
                     nodes.add(TO_TREE.apply(NodeContext.builder()
                             .withItem(clazz)
                             .withAll(all)
+                            .withLabelIndex(DslContextManager.getContext().getLabelIndex())
                             .build()));
                 }
             }
@@ -86,7 +91,7 @@ public class Nodes {
             //visited and path are the same only in the first iteration. see bellow:
             Set<TypeDef> visited = new LinkedHashSet<TypeDef>(context.getVisited());
             List<TypeDef> nextCandidates = new ArrayList<TypeDef>(TO_NEXT.apply(context));
-            Collections.sort(nextCandidates, new CandidateComparator(context));
+            Collections.sort(nextCandidates, CandidateComparator.of(context, nextCandidates));
 
             for (TypeDef next : nextCandidates) {
                 NodeContext nextContext = context.contextOfChild(next)
@@ -112,24 +117,35 @@ public class Nodes {
      */
     public static final Function<NodeContext, Set<TypeDef>> TO_NEXT = new Function<NodeContext, Set<TypeDef>>() {
         public Set<TypeDef> apply(NodeContext context) {
-            Set<TypeDef> result = new LinkedHashSet<TypeDef>();
-            Boolean inScope = !context.getActiveScopes().isEmpty();
+            return next(context, context.getAll());
+        }
+    };
 
-            if (inScope && isEndScope(context.getItem()) || isTerminal(context.getItem())) {
-                return result;
-            }
+    /**
+     * Finds which of the specified candidates can follow next.
+     * @param context       The context.
+     * @param candidates    The candidates.
+     * @return              The candidates that can follow the item of the context.
+     */
+    private static Set<TypeDef> next(NodeContext context, Set<TypeDef> candidates) {
+        Set<TypeDef> result = new LinkedHashSet<TypeDef>();
+        Boolean inScope = !context.getActiveScopes().isEmpty();
 
-            List<TypeDef> currentPath = context.getPathTypes();
-            currentPath.add(context.getItem());
-            for (TypeDef candidate : exclusion(context.getAll(), context.getVisitedTypes())) {
-                if (!isEntryPoint(candidate) && isSatisfied(candidate, currentPath)) {
-                    result.add(candidate);
-                }
-            }
-            result.remove(context.getItem());
+        if (inScope && isEndScope(context.getItem()) || isTerminal(context.getItem())) {
             return result;
         }
-    };
+
+        List<TypeDef> currentPath = context.getPathTypes();
+        currentPath.add(context.getItem());
+        Deque<String> currentScopes = getScopes(currentPath);
+        for (TypeDef candidate : exclusion(candidates, context.getVisited())) {
+            if (!isEntryPoint(candidate) && isSatisfied(candidate, currentPath, currentScopes, context.getLabels())) {
+                result.add(candidate);
+            }
+        }
+        result.remove(context.getItem());
+        return result;
+    }
 
 
     public static final Function<Node<TypeDef>, TypeDef> TO_ROOT = new Function<Node<TypeDef>, TypeDef>() {
@@ -248,11 +264,12 @@ public class Nodes {
             Node<TypeDef> current = DslContextManager.getContext().getNodeRepository().get(ctx.getItem());
             Set<Node<TypeDef>> next = new LinkedHashSet<Node<TypeDef>>();
 
-            for (Node<TypeDef> candidate : current.getTransitions()) {
-                List<TypeDef> currentPath = ctx.getPathTypes();
-                currentPath.add(ctx.getItem());
+            List<TypeDef> currentPath = ctx.getPathTypes();
+            currentPath.add(ctx.getItem());
+            Deque<String> currentScopes = getScopes(currentPath);
 
-                if (GraphUtils.isSatisfied(candidate.getItem(), currentPath)) {
+            for (Node<TypeDef> candidate : current.getTransitions()) {
+                if (GraphUtils.isSatisfied(candidate.getItem(), currentPath, currentScopes, ctx.getLabels())) {
                     Node<TypeDef> subGraph = apply(ctx.contextOfChild(candidate.getItem()).build());
                     if (subGraph.getTransitions().size() > 0 || isTerminal(subGraph.getItem()) || isEndScope(subGraph.getItem())) {
                         next.add(subGraph);
@@ -288,6 +305,7 @@ public class Nodes {
                     Node node = TO_TREE.apply(NodeContext.builder()
                             .withItem(current)
                             .withAll(all)
+                            .withLabelIndex(DslContextManager.getContext().getLabelIndex())
                             .build());
 
                     Set<TypeDef> scopeClasses = scopeClasses(node);
@@ -338,17 +356,33 @@ public class Nodes {
         }
     };
 
+    /**
+     * Orders candidates so that a candidate comes before the ones that can follow it.
+     * The candidates that can follow each candidate are computed once, instead of once per comparison.
+     */
     private static class CandidateComparator implements Comparator<TypeDef> {
 
-        private final NodeContext nodeContext;
+        private final Map<TypeDef, Set<TypeDef>> nextOfCandidate;
 
-        private CandidateComparator(NodeContext nodeContext) {
-            this.nodeContext = nodeContext;
+        private CandidateComparator(Map<TypeDef, Set<TypeDef>> nextOfCandidate) {
+            this.nextOfCandidate = nextOfCandidate;
+        }
+
+        private static CandidateComparator of(NodeContext nodeContext, Collection<TypeDef> candidates) {
+            Map<TypeDef, Set<TypeDef>> nextOfCandidate = new HashMap<TypeDef, Set<TypeDef>>();
+            if (candidates.size() > 1) {
+                //Only the other candidates are compared, so there is no need to check the rest of the types.
+                Set<TypeDef> siblings = new LinkedHashSet<TypeDef>(candidates);
+                for (TypeDef candidate : candidates) {
+                    nextOfCandidate.put(candidate, next(nodeContext.contextOfChild(candidate).addToVisited(candidate).build(), siblings));
+                }
+            }
+            return new CandidateComparator(nextOfCandidate);
         }
 
         public int compare(TypeDef left, TypeDef right) {
-            Set<TypeDef> leftSet = TO_NEXT.apply(nodeContext.contextOfChild(left).addToVisited(left).build());
-            Set<TypeDef> rightSet = TO_NEXT.apply(nodeContext.contextOfChild(right).addToVisited(right).build());
+            Set<TypeDef> leftSet = nextOfCandidate.get(left);
+            Set<TypeDef> rightSet = nextOfCandidate.get(right);
             if (leftSet.contains(right) && rightSet.contains(left)) {
                 return 0;
             } else if (leftSet.contains(right)) {
@@ -360,4 +394,3 @@ public class Nodes {
         }
     }
 }
-
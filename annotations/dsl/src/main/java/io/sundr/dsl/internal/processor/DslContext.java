@@ -18,17 +18,24 @@ package io.sundr.dsl.internal.processor;
 
 import io.sundr.codegen.CodegenContext;
 import io.sundr.codegen.DefinitionRepository;
+import io.sundr.codegen.model.TypeDef;
 import io.sundr.dsl.internal.element.functions.ToClasses;
 import io.sundr.dsl.internal.element.functions.ToKeywords;
 import io.sundr.dsl.internal.element.functions.ToRequiresAll;
 import io.sundr.dsl.internal.element.functions.ToRequiresAny;
 import io.sundr.dsl.internal.element.functions.ToRequiresNoneOf;
 import io.sundr.dsl.internal.element.functions.ToRequiresOnly;
+import io.sundr.dsl.internal.element.functions.filter.LabelFilter;
+import io.sundr.dsl.internal.element.functions.filter.LabelIndex;
+import io.sundr.dsl.internal.element.functions.filter.TransitionFilter;
 import io.sundr.dsl.internal.graph.NodeContext;
 import io.sundr.dsl.internal.graph.NodeRepository;
+import io.sundr.dsl.internal.type.GenericMappings;
 
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DslContext {
 
@@ -44,6 +51,14 @@ public class DslContext {
     private final ToClasses toClasses;
 
     private final NodeRepository nodeRepository = new NodeRepository();
+    private final LabelIndex labelIndex = new LabelIndex();
+    private final ThreadLocal<GenericMappings> genericMappings = new ThreadLocal<GenericMappings>() {
+        @Override
+        protected GenericMappings initialValue() {
+            return new GenericMappings();
+        }
+    };
+    private final Map<String, TypeDef> combinations = new ConcurrentHashMap<String, TypeDef>();
 
 
 
@@ -75,6 +90,49 @@ public class DslContext {
         return nodeRepository;
     }
 
+    public LabelIndex getLabelIndex() {
+        return labelIndex;
+    }
+
+    /**
+     * @return The type parameters used in place of the types of the DSL that is processed by the current thread.
+     */
+    public GenericMappings getGenericMappings() {
+        return genericMappings.get();
+    }
+
+    /**
+     * Binds the generic mappings of a DSL to the current thread. Should be called before processing each DSL,
+     * so that each DSL assigns the names of its type parameters from scratch.
+     * @param mappings  The mappings of the DSL, or null to unbind them.
+     * @return          The mappings that were previously bound.
+     */
+    public GenericMappings bindGenericMappings(GenericMappings mappings) {
+        GenericMappings previous = genericMappings.get();
+        if (mappings != null) {
+            genericMappings.set(mappings);
+        } else {
+            genericMappings.remove();
+        }
+        return previous;
+    }
+
+    /**
+     * @return The combined interfaces created so far, by the names of the interfaces they combine.
+     */
+    public Map<String, TypeDef> getCombinations() {
+        return combinations;
+    }
+
+    /**
+     * Compiles a {@link TransitionFilter} against the {@link LabelIndex} of the context.
+     * @param filter    The filter.
+     * @return          A {@link LabelFilter} that checks the labels of a path.
+     */
+    public LabelFilter compile(TransitionFilter filter) {
+        return filter.compile(labelIndex);
+    }
+
 
     public DefinitionRepository getDefinitionRepository() {
         return codegenContext.getDefinitionRepository();
@@ -16,6 +16,8 @@
 
 package io.sundr.dsl.internal.processor;
 
+import io.sundr.codegen.CodegenContext;
+
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import java.util.concurrent.atomic.AtomicReference;
@@ -25,9 +27,20 @@ public class DslContextManager {
     private DslContextManager() {
     }
 
+    //Used when no CodegenContext is bound to the current thread, otherwise the context is kept per CodegenContext.
     private static final AtomicReference<DslContext> context = new AtomicReference<DslContext>();
 
-    public static DslContext create(Elements elements, Types types) {
+    public static synchronized DslContext create(Elements elements, Types types) {
+        CodegenContext scope = CodegenContext.getBoundContext();
+        if (scope != null) {
+            DslContext existing = scope.getScoped(DslContext.class);
+            if (existing == null) {
+                existing = new DslContext(elements, types);
+                scope.setScoped(DslContext.class, existing);
+            }
+            return existing;
+        }
+
         DslContext ctx = new DslContext(elements, types);
         if (context.compareAndSet(null, ctx)) {
             return ctx;
@@ -38,9 +51,11 @@ public class DslContextManager {
     }
 
     public static synchronized DslContext getContext() {
-        if (context.get() == null) {
+        CodegenContext scope = CodegenContext.getBoundContext();
+        DslContext current = scope != null ? scope.getScoped(DslContext.class) : context.get();
+        if (current == null) {
             throw new IllegalStateException("Dsl context not available.");
         }
-        return context.get();
+        return current;
     }
 }
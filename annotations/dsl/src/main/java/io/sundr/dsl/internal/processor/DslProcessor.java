@@ -16,6 +16,8 @@
 
 package io.sundr.dsl.internal.processor;
 
+import io.sundr.FunctionCache;
+import io.sundr.codegen.CodegenContext;
 import io.sundr.codegen.model.ClassRef;
 import io.sundr.codegen.model.TypeDef;
 import io.sundr.codegen.model.TypeDefBuilder;
@@ -25,11 +27,13 @@ import io.sundr.codegen.model.MethodBuilder;
 import io.sundr.codegen.model.TypeRef;
 import io.sundr.codegen.processor.JavaGeneratingProcessor;
 import io.sundr.codegen.utils.ModelUtils;
+import io.sundr.codegen.utils.StringUtils;
 import io.sundr.codegen.utils.TypeUtils;
 import io.sundr.dsl.annotations.InterfaceName;
 import io.sundr.dsl.internal.graph.Node;
 import io.sundr.dsl.internal.graph.NodeContext;
 import io.sundr.dsl.internal.graph.functions.Nodes;
+import io.sundr.dsl.internal.type.GenericMappings;
 import io.sundr.dsl.internal.type.functions.Generics;
 import io.sundr.dsl.internal.utils.TypeDefUtils;
 
@@ -42,9 +46,11 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -58,8 +64,21 @@ public class DslProcessor extends JavaGeneratingProcessor {
 
     public static final String DEFAULT_TEMPLATE_LOCATION = "templates/dsl/dsl.vm";
 
+    //The interfaces already written for the DSLs of the compilation.
+    private final Set<String> writtenInterfaces = new HashSet<String>();
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        CodegenContext previous = enterRound();
+        try {
+            return processRound(annotations, env);
+        } finally {
+            exitRound(previous, env);
+        }
+    }
+
+    private boolean processRound(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        FunctionCache.nextRound(env);
         Elements elements = processingEnv.getElementUtils();
         Types types = processingEnv.getTypeUtils();
         DslContext context = DslContextManager.create(elements, types);
@@ -67,75 +86,130 @@ public class DslProcessor extends JavaGeneratingProcessor {
         for (TypeElement annotation : annotations) {
             for (Element element : env.getElementsAnnotatedWith(annotation)) {
                 if (element instanceof TypeElement) {
-                    Generics.clear();
-                    TypeElement typeElement = (TypeElement) element;
-                    InterfaceName interfaceName = element.getAnnotation(InterfaceName.class);
-                    String targetInterface = interfaceName.value();
-                    Set<TypeDef> interfacesToGenerate = new LinkedHashSet<TypeDef>();
-                    Collection<ExecutableElement> sorted = ElementFilter.methodsIn(typeElement.getEnclosedElements());
-
-                    //1st step generate generic interface for all types.
-                    Set<TypeDef> genericInterfaces = executablesToInterfaces(context, sorted);
-                    Set<TypeDef> genericAndScopeInterfaces = Nodes.TO_SCOPE.apply(genericInterfaces);
-                    for (TypeDef clazz : genericAndScopeInterfaces) {
-                        if (!TypeDefUtils.isEntryPoint(clazz)) {
-                            interfacesToGenerate.add(clazz);
-                        }
+                    GenericMappings previous = context.bindGenericMappings(new GenericMappings());
+                    try {
+                        generateDsl(context, (TypeElement) element);
+                    } finally {
+                        context.bindGenericMappings(previous);
                     }
+                }
+            }
+        }
+        return true;
+    }
 
-                    //2nd step create dependency graph.
-                    List<Method> methods = new ArrayList<Method>();
-                    Set<Node<TypeDef>> graph = Nodes.TO_GRAPH.apply(genericAndScopeInterfaces);
-
-                    for (Node<TypeDef> root : graph) {
-                        Node<TypeDef> uncyclic = Nodes.TO_UNCYCLIC.apply(root);
-                        Node<TypeDef> unwrapped = Nodes.TO_UNWRAPPED.apply(NodeContext.builder().withItem(uncyclic.getItem()).build());
-                        TypeDef current = unwrapped.getItem();
-
-                        //If there are not transitions don't generate root interface.
-                        //Just add the method with the direct return type.
-                        if (unwrapped.getTransitions().isEmpty()) {
-                            for (Method m : current.getMethods()) {
-                                TypeRef returnType = m.getReturnType();
-                                if (returnType instanceof ClassRef) {
-                                    TypeDef toUnwrap = ((ClassRef)returnType).getDefinition();
-                                    methods.add(new MethodBuilder(m).withReturnType(Generics.UNWRAP.apply(toUnwrap).toInternalReference()).build());
-                                } else if (returnType.getAttributes().containsKey(ORIGINAL_REF)) {
-                                    methods.add(new MethodBuilder(m).withReturnType((TypeRef) returnType.getAttributes().get(ORIGINAL_REF)).build());
-                                } else {
-                                    methods.add(new MethodBuilder(m).withReturnType(returnType).build());
-                                }
-                            }
-                        } else {
-                            for (Method m : current.getMethods()) {
-                                methods.add(new MethodBuilder(m).withReturnType(current.toUnboundedReference()).build());
-                            }
-
-                            interfacesToGenerate.add(Nodes.TO_ROOT.apply(unwrapped));
-                        }
+    /**
+     * Generates the interfaces of the specified DSL.
+     * The generic mappings of the DSL should be bound to the current thread.
+     * @param context       The DSL context.
+     * @param typeElement   The element annotated with {@link io.sundr.dsl.annotations.Dsl}.
+     */
+    private void generateDsl(DslContext context, TypeElement typeElement) {
+        InterfaceName interfaceName = typeElement.getAnnotation(InterfaceName.class);
+        String targetInterface = interfaceName.value();
+        Set<TypeDef> interfacesToGenerate = new LinkedHashSet<TypeDef>();
+        Set<String> registeredBefore = new HashSet<String>();
+        for (TypeDef registered : context.getDefinitionRepository().getDefinitions(IS_GENERATED)) {
+            registeredBefore.add(registered.getFullyQualifiedName());
+        }
+        Collection<ExecutableElement> sorted = ElementFilter.methodsIn(typeElement.getEnclosedElements());
+
+        //1st step generate generic interface for all types.
+        Set<TypeDef> genericInterfaces = executablesToInterfaces(context, sorted);
+        Set<TypeDef> genericAndScopeInterfaces = Nodes.TO_SCOPE.apply(genericInterfaces);
+        for (TypeDef clazz : genericAndScopeInterfaces) {
+            if (!TypeDefUtils.isEntryPoint(clazz)) {
+                interfacesToGenerate.add(clazz);
+            }
+        }
+
+        //2nd step create dependency graph.
+        List<Method> methods = new ArrayList<Method>();
+        Set<Node<TypeDef>> graph = Nodes.TO_GRAPH.apply(genericAndScopeInterfaces);
+
+        for (Node<TypeDef> root : graph) {
+            Node<TypeDef> uncyclic = Nodes.TO_UNCYCLIC.apply(root);
+            Node<TypeDef> unwrapped = Nodes.TO_UNWRAPPED.apply(NodeContext.builder()
+                    .withItem(uncyclic.getItem())
+                    .withLabelIndex(context.getLabelIndex())
+                    .build());
+            TypeDef current = unwrapped.getItem();
+
+            //If there are not transitions don't generate root interface.
+            //Just add the method with the direct return type.
+            if (unwrapped.getTransitions().isEmpty()) {
+                for (Method m : current.getMethods()) {
+                    TypeRef returnType = m.getReturnType();
+                    if (returnType instanceof ClassRef) {
+                        TypeDef toUnwrap = ((ClassRef)returnType).getDefinition();
+                        methods.add(new MethodBuilder(m).withReturnType(Generics.UNWRAP.apply(toUnwrap).toInternalReference()).build());
+                    } else if (returnType.getAttributes().containsKey(ORIGINAL_REF)) {
+                        methods.add(new MethodBuilder(m).withReturnType((TypeRef) returnType.getAttributes().get(ORIGINAL_REF)).build());
+                    } else {
+                        methods.add(new MethodBuilder(m).withReturnType(returnType).build());
                     }
+                }
+            } else {
+                for (Method m : current.getMethods()) {
+                    methods.add(new MethodBuilder(m).withReturnType(current.toUnboundedReference()).build());
+                }
 
-                    //Do generate the DSL interface
-                    interfacesToGenerate.add(new TypeDefBuilder()
-                            .withPackageName(ModelUtils.getPackageElement(element).toString())
-                            .withName(targetInterface)
-                            .withKind(Kind.INTERFACE)
-                            .withModifiers(TypeUtils.modifiersToInt(Modifier.PUBLIC))
-                            .withMethods(methods)
-                            .build());
+                interfacesToGenerate.add(Nodes.TO_ROOT.apply(unwrapped));
+            }
+        }
 
-                    interfacesToGenerate.addAll(context.getDefinitionRepository().getDefinitions(IS_GENERATED));
+        //Do generate the DSL interface
+        TypeDef dslInterface = new TypeDefBuilder()
+                .withPackageName(ModelUtils.getPackageElement(typeElement).toString())
+                .withName(targetInterface)
+                .withKind(Kind.INTERFACE)
+                .withModifiers(TypeUtils.modifiersToInt(Modifier.PUBLIC))
+                .withMethods(methods)
+                .build();
+        interfacesToGenerate.add(dslInterface);
+
+        //Definitions registered for other DSLs may be needed by this one too, unless they have already been written.
+        for (TypeDef generated : context.getDefinitionRepository().getDefinitions(IS_GENERATED)) {
+            if (!writtenInterfaces.contains(generated.getFullyQualifiedName())) {
+                interfacesToGenerate.add(generated);
+            }
+        }
 
-                    try {
-                        for (TypeDef clazz : interfacesToGenerate) {
-                            generateFromClazz(clazz, DEFAULT_TEMPLATE_LOCATION);
-                        }
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
+        //3rd step drop the interfaces that can't be reached from the DSL interface.
+        Set<TypeDef> reachable = TypeDefUtils.reachableFrom(dslInterface, interfacesToGenerate);
+        reportUnreachable(dslInterface, interfacesToGenerate, reachable, registeredBefore);
+
+        try {
+            for (TypeDef clazz : reachable) {
+                if (writtenInterfaces.add(clazz.getFullyQualifiedName())) {
+                    generateFromClazz(clazz, DEFAULT_TEMPLATE_LOCATION, typeElement);
                 }
             }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
-        return true;
+    }
+
+    /**
+     * Reports the interfaces of the DSL that are not generated, because they can't be reached from the DSL interface.
+     * Interfaces registered for other DSLs are left out, unless they are reachable.
+     */
+    private void reportUnreachable(TypeDef dslInterface, Set<TypeDef> all, Set<TypeDef> reachable, Set<String> registeredBefore) {
+        int total = 0;
+        List<String> names = new ArrayList<String>();
+        for (TypeDef type : all) {
+            if (reachable.contains(type)) {
+                total++;
+            } else if (!registeredBefore.contains(type.getFullyQualifiedName())) {
+                total++;
+                names.add(type.getName());
+            }
+        }
+        if (names.isEmpty()) {
+            return;
+        }
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "DSL " + dslInterface.getFullyQualifiedName() + ": generating " + reachable.size() + " of " + total
+                        + " interfaces, skipped unreachable " + StringUtils.join(names, ", ") + ".");
     }
 }
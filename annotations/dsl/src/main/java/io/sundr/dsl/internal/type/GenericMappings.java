@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.dsl.internal.type;
+
+import io.sundr.codegen.model.TypeParamDef;
+import io.sundr.codegen.model.TypeParamDefBuilder;
+import io.sundr.codegen.model.TypeParamRef;
+import io.sundr.codegen.model.TypeRef;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.sundr.dsl.internal.Constants.IS_GENERIC;
+import static io.sundr.dsl.internal.Constants.ORIGINAL_REF;
+import static io.sundr.dsl.internal.Constants.TRANSPARENT;
+import static io.sundr.dsl.internal.Constants.TRANSPARENT_REF;
+import static io.sundr.dsl.internal.Constants.VOID_REF;
+
+/**
+ * Maps the types used by a DSL to the generic parameters that stand for them in the generated interfaces.
+ * Each DSL binds its own instance to the thread that processes it (see {@link io.sundr.dsl.internal.processor.DslContext#bindGenericMappings(GenericMappings)}),
+ * so that names are assigned from scratch and are not shared with the DSLs processed by other threads.
+ * The mapping is kept in both directions, so that a parameter can be resolved back to its type without a scan.
+ */
+public class GenericMappings {
+
+    private static final String[] GENERIC_NAMES = {"A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M", "N", "O", "P", "Q", "R", "S"};
+
+    private final Map<TypeRef, TypeParamDef> parameters = new HashMap<TypeRef, TypeParamDef>();
+    private final Map<String, TypeRef> types = new HashMap<String, TypeRef>();
+    private int counter = 0;
+
+    public GenericMappings() {
+        put(VOID_REF, new TypeParamDefBuilder().withName("V").addToAttributes(IS_GENERIC, true).build());
+        put(TRANSPARENT_REF, TRANSPARENT);
+    }
+
+    /**
+     * Returns the parameter of the specified type and assigns the next available name, if the type has no parameter yet.
+     * @param type  The type.
+     * @return      The parameter.
+     */
+    public TypeParamDef getParameter(TypeRef type) {
+        TypeParamDef parameter = parameters.get(type);
+        if (parameter == null) {
+            int iteration = counter / GENERIC_NAMES.length;
+            String name = GENERIC_NAMES[counter % GENERIC_NAMES.length];
+            if (iteration > 0) {
+                name += iteration;
+            }
+            counter++;
+            parameter = new TypeParamDefBuilder().withName(name)
+                    .addToAttributes(IS_GENERIC, true)
+                    .addToAttributes(ORIGINAL_REF, type)
+                    .build();
+            put(type, parameter);
+        }
+        return parameter;
+    }
+
+    /**
+     * Returns the type that corresponds to the specified parameter reference.
+     * @param ref   The reference.
+     * @return      The type or null if the reference is not a parameter of this mapping.
+     */
+    public TypeRef getType(TypeRef ref) {
+        return ref instanceof TypeParamRef ? types.get(((TypeParamRef) ref).getName()) : null;
+    }
+
+    private void put(TypeRef type, TypeParamDef parameter) {
+        parameters.put(type, parameter);
+        types.put(parameter.getName(), type);
+    }
+}
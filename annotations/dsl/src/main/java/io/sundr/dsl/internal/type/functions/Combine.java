@@ -27,6 +27,7 @@ import io.sundr.codegen.model.TypeParamDefBuilder;
 import io.sundr.codegen.model.TypeParamRef;
 import io.sundr.codegen.utils.StringUtils;
 import io.sundr.codegen.utils.TypeUtils;
+import io.sundr.dsl.internal.processor.DslContextManager;
 import io.sundr.dsl.internal.utils.TypeDefUtils;
 import io.sundr.dsl.internal.visitors.TypeParamDefColletor;
 import io.sundr.dsl.internal.visitors.TypeParamRefColletor;
@@ -37,7 +38,6 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -62,6 +62,7 @@ public class Combine {
     public static Function<Collection<ClassRef>, TypeDef> TYPEREFS = new Function<Collection<ClassRef>, TypeDef>() {
         public TypeDef apply(Collection<ClassRef> alternatives) {
             String key = createKeyForClasses(alternatives);
+            Map<String, TypeDef> combinations = DslContextManager.getContext().getCombinations();
             if (combinations.containsKey(key)) {
                 return combinations.get(key);
             }
@@ -125,6 +126,7 @@ public class Combine {
 
         public TypeDef apply(Collection<TypeDef> alternatives) {
             String key = createKeyForTypes(alternatives);
+            Map<String, TypeDef> combinations = DslContextManager.getContext().getCombinations();
             if (combinations.containsKey(key)) {
                 return combinations.get(key);
             }
@@ -354,7 +356,5 @@ public class Combine {
         }, "#");
     }
 
-    private static Map<String, TypeDef> combinations = new HashMap<String, TypeDef>();
-
     private static final String SPLITTER_REGEX = "(?<!(^|[A-Z]))(?=[A-Z])|(?<!^)(?=[A-Z][a-z])";
 }
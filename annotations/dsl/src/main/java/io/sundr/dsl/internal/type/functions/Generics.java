@@ -23,45 +23,20 @@ import io.sundr.codegen.model.ClassRefBuilder;
 import io.sundr.codegen.model.TypeDef;
 import io.sundr.codegen.model.TypeDefBuilder;
 import io.sundr.codegen.model.TypeParamDef;
-import io.sundr.codegen.model.TypeParamDefBuilder;
-import io.sundr.codegen.model.TypeParamRef;
 import io.sundr.codegen.model.TypeRef;
+import io.sundr.dsl.internal.processor.DslContextManager;
+import io.sundr.dsl.internal.type.GenericMappings;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
-import static io.sundr.dsl.internal.Constants.IS_GENERIC;
-import static io.sundr.dsl.internal.Constants.ORIGINAL_REF;
-import static io.sundr.dsl.internal.Constants.TRANSPARENT;
 import static io.sundr.dsl.internal.Constants.TRANSPARENT_REF;
-import static io.sundr.dsl.internal.Constants.VOID_REF;
 
 public class Generics {
 
-
-    private static final String[] GENERIC_NAMES = {"A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M", "N", "O", "P", "Q", "R", "S"};
-    private static final Map<TypeRef, TypeParamDef> GENERIC_MAPPINGS = new HashMap<TypeRef, TypeParamDef>();
-    private static int counter = 0;
-
     public static final Function<TypeRef, TypeParamDef> MAP = new Function<TypeRef, TypeParamDef>() {
         public TypeParamDef apply(TypeRef item) {
-            if (!GENERIC_MAPPINGS.containsKey(item)) {
-                int iteration = counter / GENERIC_NAMES.length;
-                String name = GENERIC_NAMES[counter % GENERIC_NAMES.length];
-                if (iteration > 0) {
-                    name += iteration;
-                }
-                counter++;
-                GENERIC_MAPPINGS.put(item, new TypeParamDefBuilder().withName(name)
-                        .addToAttributes(IS_GENERIC, true)
-                        .addToAttributes(ORIGINAL_REF, item)
-                        .build());
-            }
-            return GENERIC_MAPPINGS.get(item);
+            return DslContextManager.getContext().getGenericMappings().getParameter(item);
         }
     };
 
@@ -77,9 +52,10 @@ public class Generics {
 
     private static final TypedVisitor<ClassRefBuilder> UNWRAP_CLASSREF_VISITOR = new TypedVisitor<ClassRefBuilder>() {
         public void visit(ClassRefBuilder builder) {
+            GenericMappings mappings = DslContextManager.getContext().getGenericMappings();
             List<TypeRef> unwrappedArguments = new ArrayList<TypeRef>();
             for (TypeRef argument : builder.getArguments()) {
-                TypeRef key = getKeyForValue(GENERIC_MAPPINGS, argument);
+                TypeRef key = mappings.getType(argument);
                 if (TRANSPARENT_REF.equals(key)) {
                     continue;
                 } else if (key != null) {
@@ -93,34 +69,4 @@ public class Generics {
             builder.withArguments(unwrappedArguments);
         }
     };
-
-    private static boolean containsValue(Map<TypeRef, TypeParamDef> map, TypeRef value) {
-        for (Map.Entry<TypeRef, TypeParamDef> entry : map.entrySet()) {
-            if (value instanceof TypeParamRef && ((TypeParamRef) value).getName().equals(entry.getValue().getName())) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private static TypeRef getKeyForValue(Map<TypeRef, TypeParamDef> map, TypeRef value) {
-        for (Map.Entry<TypeRef, TypeParamDef> entry : map.entrySet()) {
-            if (value instanceof TypeParamRef && ((TypeParamRef) value).getName().equals(entry.getValue().getName())) {
-                return entry.getKey();
-            }
-        }
-        return null;
-        //throw new IllegalStateException("Key not found for value:[" + value +"].");
-    }
-
-    public static void clear() {
-        counter = 0;
-        GENERIC_MAPPINGS.clear();
-        GENERIC_MAPPINGS.put(VOID_REF, new TypeParamDefBuilder().withName("V").addToAttributes(IS_GENERIC, true).build());
-        GENERIC_MAPPINGS.put(TRANSPARENT_REF,  TRANSPARENT);
-    }
-    
-    static {
-        clear();
-    }
 }
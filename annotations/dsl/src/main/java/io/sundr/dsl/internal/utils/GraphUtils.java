@@ -17,8 +17,11 @@
 package io.sundr.dsl.internal.utils;
 
 import io.sundr.codegen.model.TypeDef;
+import io.sundr.dsl.internal.element.functions.filter.LabelFilter;
+import io.sundr.dsl.internal.element.functions.filter.LabelIndex;
 import io.sundr.dsl.internal.element.functions.filter.TransitionFilter;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.EmptyStackException;
@@ -35,6 +38,7 @@ import static io.sundr.dsl.internal.Constants.END_SCOPE;
 import static io.sundr.dsl.internal.Constants.FILTER;
 import static io.sundr.dsl.internal.Constants.CLASSES;
 import static io.sundr.dsl.internal.Constants.KEYWORDS;
+import static io.sundr.dsl.internal.Constants.LABEL_FILTER;
 import static io.sundr.dsl.internal.Constants.METHODS;
 import static io.sundr.dsl.internal.utils.TypeDefUtils.isCardinalityMultiple;
 import static io.sundr.dsl.internal.utils.TypeDefUtils.isTerminal;
@@ -56,13 +60,24 @@ public final class GraphUtils {
     }
 
     public static boolean isSatisfied(TypeDef candidate, List<TypeDef> path) {
-        Set<String> keywordsAndScopes = new LinkedHashSet<String>();
-        Set<String> visitedKeywords = getKeywords(path);
-        Deque<String> activeScopes = getScopes(path);
-        keywordsAndScopes.addAll(visitedKeywords);
-        keywordsAndScopes.addAll(activeScopes);
+        return isSatisfied(candidate, path, getScopes(path));
+    }
+
+    public static boolean isSatisfied(TypeDef candidate, List<TypeDef> path, Deque<String> activeScopes) {
+        return isSatisfied(candidate, path, activeScopes, null);
+    }
 
+    /**
+     * Checks if the candidate can follow the specified path.
+     * @param candidate     The candidate.
+     * @param path          The path.
+     * @param activeScopes  The scopes that are active at the end of the path (see {@link #getScopes(Collection)}).
+     * @param labels        The labels of the path (see {@link LabelIndex}) or null to check the filter against the path itself.
+     * @return              True if the candidate can follow the path.
+     */
+    public static boolean isSatisfied(TypeDef candidate, List<TypeDef> path, Deque<String> activeScopes, BitSet labels) {
         TransitionFilter filter = (TransitionFilter) candidate.getAttributes().get(FILTER);
+        LabelFilter labelFilter = (LabelFilter) candidate.getAttributes().get(LABEL_FILTER);
         Boolean multiple = (Boolean) candidate.getAttributes().get(CARDINALITY_MULTIPLE);
 
         Set<String> keywords = (Set<String>) candidate.getAttributes().get(KEYWORDS);
@@ -77,7 +92,7 @@ public final class GraphUtils {
             //We only accept repetition of the last element. Other wise we can end up in infinite loops
             return false;
         }
-        return filter.apply(path);
+        return labels != null && labelFilter != null ? labelFilter.apply(labels) : filter.apply(path);
     }
 
     public static Set<String> getClasses(Collection<TypeDef> types) {
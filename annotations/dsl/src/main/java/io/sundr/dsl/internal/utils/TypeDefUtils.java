@@ -45,10 +45,13 @@ import io.sundr.dsl.internal.type.functions.Merge;
 
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -69,6 +72,7 @@ import static io.sundr.dsl.internal.Constants.IS_GENERIC;
 import static io.sundr.dsl.internal.Constants.IS_TERMINAL;
 import static io.sundr.dsl.internal.Constants.IS_TRANSITION;
 import static io.sundr.dsl.internal.Constants.KEYWORDS;
+import static io.sundr.dsl.internal.Constants.LABEL_FILTER;
 import static io.sundr.dsl.internal.Constants.METHODS;
 import static io.sundr.dsl.internal.Constants.METHOD_NAME;
 import static io.sundr.dsl.internal.Constants.ORIGINAL_RETURN_TYPE;
@@ -172,6 +176,7 @@ public final class TypeDefUtils {
                     .addToAttributes(BEGIN_SCOPE, beginScope)
                     .addToAttributes(END_SCOPE, endScope)
                     .addToAttributes(FILTER, filter)
+                    .addToAttributes(LABEL_FILTER, context.compile(filter))
                     .addToAttributes(CARDINALITY_MULTIPLE, multiple)
                     .addToAttributes(TERMINATING_TYPES, isTerminal ? new LinkedHashSet<TypeRef>(Arrays.asList(returnType)) : Collections.emptySet())
                     .addToAttributes(METHOD_NAME, methodName)
@@ -253,6 +258,46 @@ public final class TypeDefUtils {
         return extractInterfacesFromType(classRef.getDefinition());
     }
 
+    /**
+     * Finds the types that are reachable from the specified root, following the references of each type.
+     * Intermediate combinations that were registered while building transitions, but ended up replaced are not reachable.
+     * @param root      The type to start from.
+     * @param types     The candidate types.
+     * @return          The reachable candidates, in their original order.
+     */
+    public static Set<TypeDef> reachableFrom(TypeDef root, Collection<TypeDef> types) {
+        Map<String, List<TypeDef>> byName = new HashMap<String, List<TypeDef>>();
+        for (TypeDef type : types) {
+            List<TypeDef> sameName = byName.get(type.getFullyQualifiedName());
+            if (sameName == null) {
+                sameName = new ArrayList<TypeDef>();
+                byName.put(type.getFullyQualifiedName(), sameName);
+            }
+            sameName.add(type);
+        }
+
+        Set<String> reachable = new HashSet<String>();
+        Deque<TypeDef> queue = new ArrayDeque<TypeDef>();
+        reachable.add(root.getFullyQualifiedName());
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            for (ClassRef ref : queue.poll().getReferences()) {
+                String fqn = ref.getDefinition().getFullyQualifiedName();
+                if (byName.containsKey(fqn) && reachable.add(fqn)) {
+                    queue.addAll(byName.get(fqn));
+                }
+            }
+        }
+
+        Set<TypeDef> result = new LinkedHashSet<TypeDef>();
+        for (TypeDef type : types) {
+            if (reachable.contains(type.getFullyQualifiedName())) {
+                result.add(type);
+            }
+        }
+        return result;
+    }
+
     public static String toInterfaceName(String name) {
         if (name.endsWith(INTERFACE_SUFFIX)) {
             return name;
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package utils;
+
+import com.sun.tools.javac.model.JavacElements;
+import com.sun.tools.javac.model.JavacTypes;
+import com.sun.tools.javac.util.Context;
+import io.sundr.codegen.functions.ClassTo;
+import io.sundr.codegen.model.ClassRef;
+import io.sundr.codegen.model.TypeParamDef;
+import io.sundr.codegen.model.TypeParamRefBuilder;
+import io.sundr.dsl.internal.processor.DslContext;
+import io.sundr.dsl.internal.type.GenericMappings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static io.sundr.dsl.internal.Constants.TRANSPARENT_REF;
+import static io.sundr.dsl.internal.Constants.VOID_REF;
+
+public class GenericMappingsTest {
+
+    @Test
+    public void testBothDirections() {
+        GenericMappings mappings = new GenericMappings();
+        ClassRef string = ClassTo.TYPEDEF.apply(String.class).toInternalReference();
+        ClassRef integer = ClassTo.TYPEDEF.apply(Integer.class).toInternalReference();
+
+        TypeParamDef first = mappings.getParameter(string);
+        TypeParamDef second = mappings.getParameter(integer);
+        Assert.assertEquals("A", first.getName());
+        Assert.assertEquals("B", second.getName());
+        Assert.assertSame(first, mappings.getParameter(string));
+
+        Assert.assertEquals(string, mappings.getType(first.toReference()));
+        Assert.assertEquals(integer, mappings.getType(second.toReference()));
+        Assert.assertEquals(VOID_REF, mappings.getType(new TypeParamRefBuilder().withName("V").build()));
+        Assert.assertEquals(TRANSPARENT_REF, mappings.getType(new TypeParamRefBuilder().withName("T").build()));
+        Assert.assertNull(mappings.getType(new TypeParamRefBuilder().withName("Z").build()));
+        Assert.assertNull(mappings.getType(string));
+    }
+
+    @Test
+    public void testMappingsAreBoundPerDsl() throws Exception {
+        Context javac = new Context();
+        final DslContext context = new DslContext(JavacElements.instance(javac), JavacTypes.instance(javac));
+        final ClassRef string = ClassTo.TYPEDEF.apply(String.class).toInternalReference();
+        final ClassRef integer = ClassTo.TYPEDEF.apply(Integer.class).toInternalReference();
+
+        GenericMappings first = new GenericMappings();
+        GenericMappings previous = context.bindGenericMappings(first);
+        try {
+            Assert.assertEquals("A", context.getGenericMappings().getParameter(string).getName());
+
+            GenericMappings outer = context.bindGenericMappings(new GenericMappings());
+            Assert.assertSame(first, outer);
+            Assert.assertEquals("A", context.getGenericMappings().getParameter(integer).getName());
+            context.bindGenericMappings(outer);
+
+            final String[] other = new String[1];
+            Thread thread = new Thread(new Runnable() {
+                public void run() {
+                    other[0] = context.getGenericMappings().getParameter(integer).getName();
+                }
+            });
+            thread.start();
+            thread.join();
+            Assert.assertEquals("A", other[0]);
+
+            Assert.assertSame(first, context.getGenericMappings());
+            Assert.assertEquals("B", context.getGenericMappings().getParameter(integer).getName());
+        } finally {
+            context.bindGenericMappings(previous);
+        }
+    }
+}
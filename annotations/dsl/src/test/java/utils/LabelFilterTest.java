@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package utils;
+
+import io.sundr.codegen.model.TypeDef;
+import io.sundr.codegen.model.TypeDefBuilder;
+import io.sundr.dsl.internal.element.functions.filter.AndTransitionFilter;
+import io.sundr.dsl.internal.element.functions.filter.LabelFilter;
+import io.sundr.dsl.internal.element.functions.filter.LabelIndex;
+import io.sundr.dsl.internal.element.functions.filter.OrTransitionFilter;
+import io.sundr.dsl.internal.element.functions.filter.RequiresAllFilter;
+import io.sundr.dsl.internal.element.functions.filter.RequiresAnyFilter;
+import io.sundr.dsl.internal.element.functions.filter.RequiresNoneFilter;
+import io.sundr.dsl.internal.element.functions.filter.RequiresNoneOfFilter;
+import io.sundr.dsl.internal.element.functions.filter.RequiresOnlyFilter;
+import io.sundr.dsl.internal.element.functions.filter.TransitionFilter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static io.sundr.dsl.internal.Constants.CLASSES;
+import static io.sundr.dsl.internal.Constants.KEYWORDS;
+import static io.sundr.dsl.internal.Constants.METHODS;
+
+public class LabelFilterTest {
+
+    private final List<TypeDef> types = Arrays.asList(
+            type("entry", set(), set(), set("entry")),
+            type("withName", set(), set("Name"), set("withName")),
+            type("withLabel", set(), set("Label"), set("withLabel")),
+            type("inNamespace", set("Namespaced"), set(), set("inNamespace")),
+            type("delete", set(), set(), set("delete")),
+            type("named", set("Named"), set("Name"), set("named")));
+
+    @Test
+    public void testCompiledFiltersAgreeWithFilters() {
+        LabelIndex index = new LabelIndex();
+        for (TransitionFilter filter : filters()) {
+            for (List<TypeDef> path : paths()) {
+                Assert.assertEquals("Filter:" + filter + " path:" + path, filter.apply(path), filter.compile(index).apply(index.labelsOf(path)));
+            }
+        }
+    }
+
+    @Test
+    public void testFiltersCompiledBeforeLabelsAreIndexed() {
+        for (TransitionFilter filter : filters()) {
+            LabelIndex index = new LabelIndex();
+            LabelFilter compiledFilter = filter.compile(index);
+            for (List<TypeDef> path : paths()) {
+                Assert.assertEquals("Filter:" + filter + " path:" + path, filter.apply(path), compiledFilter.apply(index.labelsOf(path)));
+            }
+        }
+
+        TransitionFilter onlyY = new RequiresOnlyFilter(set(), set("y"), set(), false, false);
+        LabelIndex index = new LabelIndex();
+        LabelFilter compiled = onlyY.compile(index);
+        List<TypeDef> path = Arrays.asList(type("y", set(), set("y"), set()), type("z", set(), set("z"), set()));
+        Assert.assertFalse(onlyY.apply(path));
+        Assert.assertFalse(compiled.apply(index.labelsOf(path)));
+    }
+
+    private List<TransitionFilter> filters() {
+        List<TransitionFilter> filters = new ArrayList<TransitionFilter>();
+        filters.add(new RequiresNoneFilter());
+        for (Set<String> classes : Arrays.asList(set(), set("Named"), set("Namespaced", "Unknown"))) {
+            for (Set<String> keywords : Arrays.asList(set(), set("Name"), set("Label", "Name"))) {
+                for (Set<String> methods : Arrays.asList(set(), set("entry"), set("withName", "delete"))) {
+                    filters.add(new RequiresAllFilter(classes, keywords, methods));
+                    filters.add(new RequiresAnyFilter(classes, keywords, methods));
+                    filters.add(new RequiresNoneOfFilter(classes, keywords, methods));
+                    for (Boolean explicit : Arrays.asList(true, false)) {
+                        for (Boolean orNone : Arrays.asList(true, false)) {
+                            filters.add(new RequiresOnlyFilter(classes, keywords, methods, explicit, orNone));
+                        }
+                    }
+                }
+            }
+        }
+        filters.add(new AndTransitionFilter(filters.get(1), filters.get(2)));
+        filters.add(new OrTransitionFilter(filters.get(3), filters.get(4), filters.get(0)));
+        return filters;
+    }
+
+    private List<List<TypeDef>> paths() {
+        List<List<TypeDef>> paths = new ArrayList<List<TypeDef>>();
+        for (int mask = 0; mask < 1 << types.size(); mask++) {
+            List<TypeDef> path = new ArrayList<TypeDef>();
+            for (int i = 0; i < types.size(); i++) {
+                if ((mask & 1 << i) != 0) {
+                    path.add(types.get(i));
+                }
+            }
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    private static TypeDef type(String name, Set<String> classes, Set<String> keywords, Set<String> methods) {
+        return new TypeDefBuilder()
+                .withPackageName("test")
+                .withName(name)
+                .addToAttributes(CLASSES, classes)
+                .addToAttributes(KEYWORDS, keywords)
+                .addToAttributes(METHODS, methods)
+                .build();
+    }
+
+    private static Set<String> set(String... items) {
+        return new HashSet<String>(Arrays.asList(items));
+    }
+}
@@ -22,6 +22,7 @@ import com.sun.tools.javac.util.Context;
 import io.sundr.codegen.model.TypeDef;
 import io.sundr.codegen.model.TypeDefBuilder;
 import io.sundr.dsl.internal.processor.DslContext;
+import io.sundr.dsl.internal.processor.DslContextManager;
 import io.sundr.dsl.internal.type.functions.Combine;
 import io.sundr.dsl.internal.type.functions.Generics;
 import io.sundr.dsl.internal.utils.TypeDefUtils;
@@ -51,7 +52,7 @@ public class TypeDefUtilsTest {
     private final Context context = new Context();
     private final Elements elements = JavacElements.instance(context);
     private final Types types = JavacTypes.instance(context);
-    private final DslContext dslContext = new DslContext(elements, types);
+    private final DslContext dslContext = DslContextManager.create(elements, types);
     private final TypeDef STRING = new TypeDefBuilder().withPackageName("java.lang").withName("String").build();
     private final TypeDef INTEGER = new TypeDefBuilder().withPackageName("java.lang").withName("Integer").build();
     private final TypeDef LONG = new TypeDefBuilder().withPackageName("java.lang").withName("Long").build();
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.benchmarks;
+
+import io.sundr.builder.PathAwareTypedVisitor;
+import io.sundr.builder.TypedVisitor;
+import io.sundr.builder.Visitor;
+import io.sundr.codegen.model.MethodBuilder;
+import io.sundr.codegen.model.TypeDefBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast a builder tree accepts the different kinds of visitors.
+ * Each accepted node asks the visitor class caches whether the visitor can visit it, so this is where their lookups show.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisitorBenchmark {
+
+    @Param({"200"})
+    private int methods;
+
+    private TypeDefBuilder builder;
+
+    private final TypedVisitor<MethodBuilder> typedVisitor = new TypedVisitor<MethodBuilder>() {
+        public void visit(MethodBuilder element) {
+            element.getName();
+        }
+    };
+
+    private final Visitor<MethodBuilder> visitor = new Visitor<MethodBuilder>() {
+        public void visit(MethodBuilder element) {
+            element.getName();
+        }
+    };
+
+    private final PathAwareTypedVisitor<MethodBuilder, TypeDefBuilder> pathAwareVisitor = new PathAwareTypedVisitor<MethodBuilder, TypeDefBuilder>() {
+        public void visit(MethodBuilder element) {
+            element.getName();
+        }
+    };
+
+    @Setup
+    public void setUp() {
+        builder = new TypeDefBuilder().withName("Benchmark");
+        for (int i = 0; i < methods; i++) {
+            builder.addNewMethod().withName("method" + i).endMethod();
+        }
+    }
+
+    @Benchmark
+    public TypeDefBuilder typedVisitor() {
+        return builder.accept(typedVisitor);
+    }
+
+    @Benchmark
+    public TypeDefBuilder visitor() {
+        return builder.accept(visitor);
+    }
+
+    @Benchmark
+    public TypeDefBuilder pathAwareVisitor() {
+        return builder.accept(pathAwareVisitor);
+    }
+}
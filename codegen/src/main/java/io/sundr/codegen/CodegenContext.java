@@ -16,32 +16,135 @@
 
 package io.sundr.codegen;
 
+import io.sundr.FunctionCache;
+
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Holds the state shared by the code generation of a single compilation.
+ * Processors open a context per {@link ProcessingEnvironment} and bind it to the current thread while processing,
+ * so that compilations running in parallel in the same JVM don't share definitions and that they can be released.
+ * When no context is bound, the context created last through {@link #create(Elements, Types)} is used, along with the global {@link DefinitionRepository}.
+ */
 public class CodegenContext {
 
     private static CodegenContext INSTANCE;
 
+    private static final ThreadLocal<CodegenContext> CURRENT = new ThreadLocal<CodegenContext>();
+    private static final Map<ProcessingEnvironment, CodegenContext> SCOPES = Collections.synchronizedMap(new WeakHashMap<ProcessingEnvironment, CodegenContext>());
+
     private final Types types;
     private final Elements elements;
-    private final DefinitionRepository definitionRepository = DefinitionRepository.getRepository();
+    private final DefinitionRepository definitionRepository;
+    private final ConcurrentMap<Class, Object> scoped = new ConcurrentHashMap<Class, Object>();
+    private int users;
 
-    private CodegenContext(Elements elements, Types types) {
+    private CodegenContext(Elements elements, Types types, DefinitionRepository definitionRepository) {
         this.types = types;
         this.elements = elements;
+        this.definitionRepository = definitionRepository;
     }
 
     public synchronized static CodegenContext create(Elements elements, Types types) {
-        INSTANCE = new CodegenContext(elements, types);
+        CodegenContext bound = CURRENT.get();
+        if (bound != null) {
+            return bound;
+        }
+        INSTANCE = new CodegenContext(elements, types, DefinitionRepository.getRepository());
         return INSTANCE;
     }
 
-    public synchronized static CodegenContext getContext() {
-        if (INSTANCE == null) {
-            throw new IllegalStateException("CodeGenContext has not been created, yet.");
+    public static CodegenContext getContext() {
+        CodegenContext bound = CURRENT.get();
+        if (bound != null) {
+            return bound;
+        }
+        synchronized (CodegenContext.class) {
+            if (INSTANCE == null) {
+                throw new IllegalStateException("CodeGenContext has not been created, yet.");
+            }
+            return INSTANCE;
         }
-        return INSTANCE;
+    }
+
+    /**
+     * @return The context bound to the current thread or null if none is bound.
+     */
+    public static CodegenContext getBoundContext() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Opens the context of the specified environment and creates it if needed.
+     * Processors that share the environment also share the context, which is released when all of them have closed it.
+     * @param environment   The processing environment.
+     * @return              The context.
+     */
+    public static CodegenContext open(ProcessingEnvironment environment) {
+        synchronized (SCOPES) {
+            CodegenContext context = SCOPES.get(environment);
+            if (context == null) {
+                context = new CodegenContext(environment.getElementUtils(), environment.getTypeUtils(), DefinitionRepository.create());
+                SCOPES.put(environment, context);
+            }
+            context.users++;
+            return context;
+        }
+    }
+
+    /**
+     * Closes the context of the specified environment.
+     * When the last open context is closed, the {@link io.sundr.FunctionFactory} caches are cleared too,
+     * as their entries refer to the definitions of the closed compilations.
+     * @param environment   The processing environment.
+     */
+    public static void close(ProcessingEnvironment environment) {
+        synchronized (SCOPES) {
+            CodegenContext context = SCOPES.get(environment);
+            if (context != null && --context.users <= 0) {
+                SCOPES.remove(environment);
+                context.scoped.clear();
+                context.definitionRepository.clear();
+                if (SCOPES.isEmpty()) {
+                    FunctionCache.clearAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Binds the context of the specified environment to the current thread.
+     * The context is opened if it hasn't been opened, yet.
+     * @param environment   The processing environment.
+     * @return              The context that was previously bound or null.
+     */
+    public static CodegenContext bind(ProcessingEnvironment environment) {
+        CodegenContext context = SCOPES.get(environment);
+        return bind(context != null ? context : open(environment));
+    }
+
+    /**
+     * Binds the specified context and its {@link DefinitionRepository} to the current thread.
+     * @param context   The context or null to unbind the current one.
+     * @return          The context that was previously bound or null.
+     */
+    public static CodegenContext bind(CodegenContext context) {
+        CodegenContext previous = CURRENT.get();
+        if (context != null) {
+            CURRENT.set(context);
+            DefinitionRepository.bind(context.definitionRepository);
+        } else {
+            CURRENT.remove();
+            DefinitionRepository.bind(null);
+        }
+        return previous;
     }
 
     public Types getTypes() {
@@ -55,4 +158,17 @@ public class CodegenContext {
     public DefinitionRepository getDefinitionRepository() {
         return definitionRepository;
     }
+
+    /**
+     * Returns state, that is kept per context (e.g. by other processor specific contexts).
+     * @param type  The type of the state.
+     * @return      The state or null if none has been set.
+     */
+    public <T> T getScoped(Class<T> type) {
+        return type.cast(scoped.get(type));
+    }
+
+    public <T> T setScoped(Class<T> type, T value) {
+        return type.cast(value != null ? scoped.put(type, value) : scoped.remove(type));
+    }
 }
@@ -21,48 +21,121 @@ import io.sundr.codegen.model.TypeDef;
 import io.sundr.codegen.model.TypeDefBuilder;
 import io.sundr.codegen.model.TypeRef;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DefinitionRepository {
 
-    private static DefinitionRepository INSTANCE;
+    private static volatile DefinitionRepository INSTANCE;
+
+    //Repositories created for a compilation are bound to the thread that processes it.
+    private static final ThreadLocal<DefinitionRepository> CURRENT = new ThreadLocal<DefinitionRepository>();
 
     private final ConcurrentMap<String, TypeDef> definitions = new ConcurrentHashMap<String, TypeDef>();
 
     //Custom mappings
     private final ConcurrentMap<String, String> custom = new ConcurrentHashMap<String, String>();
 
-    private Map<String, String> snapshot;
+    //Secondary indexes from boolean attribute flags and simple names to fully qualified names.
+    //They are only modified while holding the lock, but may contain stale entries, so lookups always verify against the definitions.
+    private final ConcurrentMap<String, Set<String>> flagIndex = new ConcurrentHashMap<String, Set<String>>();
+    private final ConcurrentMap<String, Set<String>> nameIndex = new ConcurrentHashMap<String, Set<String>>();
+    private final Object lock = new Object();
+
+    //Incremented whenever the registered definitions change, so that resolved definitions can be cached.
+    private final AtomicLong version = new AtomicLong();
+
+    //The reference map is published as a snapshot, which is updated only for the names that changed since the last update.
+    private final Set<String> changedNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private volatile boolean rebuildSnapshot = true;
+    private volatile Map<String, String> snapshot;
 
     private DefinitionRepository() {
     }
 
-    public static synchronized final DefinitionRepository getRepository() {
-        if (INSTANCE == null) {
-            INSTANCE = new DefinitionRepository();
+    /**
+     * Returns the repository bound to the current thread, or the global repository if none is bound.
+     * @return  The repository.
+     */
+    public static final DefinitionRepository getRepository() {
+        DefinitionRepository bound = CURRENT.get();
+        return bound != null ? bound : getGlobalRepository();
+    }
+
+    /**
+     * Creates a new repository, that initially contains the definitions of the global repository.
+     * Definitions registered to the new repository are not visible to the global or any other repository.
+     * @return  The repository.
+     */
+    public static DefinitionRepository create() {
+        DefinitionRepository repository = new DefinitionRepository();
+        for (TypeDef definition : getGlobalRepository().getDefinitions()) {
+            repository.registerIfAbsent(definition);
+        }
+        return repository;
+    }
+
+    /**
+     * Binds the specified repository to the current thread.
+     * @param repository    The repository to bind or null to fall back to the global repository.
+     * @return              The repository that was previously bound or null.
+     */
+    public static DefinitionRepository bind(DefinitionRepository repository) {
+        DefinitionRepository previous = CURRENT.get();
+        if (repository != null) {
+            CURRENT.set(repository);
+        } else {
+            CURRENT.remove();
         }
-        return INSTANCE;
+        return previous;
+    }
+
+    private static DefinitionRepository getGlobalRepository() {
+        DefinitionRepository repository = INSTANCE;
+        if (repository == null) {
+            synchronized (DefinitionRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new DefinitionRepository();
+                }
+                repository = INSTANCE;
+            }
+        }
+        return repository;
     }
 
     public TypeDef registerIfAbsent(TypeDef definition) {
-        if (definition != null) {
-            definitions.putIfAbsent(definition.getFullyQualifiedName(), definition);
+        if (definition == null || definitions.containsKey(definition.getFullyQualifiedName())) {
+            return definition;
+        }
+        synchronized (lock) {
+            if (definitions.putIfAbsent(definition.getFullyQualifiedName(), definition) == null) {
+                index(definition);
+                version.incrementAndGet();
+            }
         }
         return definition;
     }
 
     public TypeDef register(TypeDef definition) {
-        definitions.put(definition.getFullyQualifiedName(), definition);
+        synchronized (lock) {
+            TypeDef previous = definitions.put(definition.getFullyQualifiedName(), definition);
+            if (previous != definition) {
+                if (previous != null) {
+                    unindex(previous);
+                }
+                index(definition);
+                version.incrementAndGet();
+            }
+        }
         return definition;
     }
 
@@ -77,21 +150,28 @@ public class DefinitionRepository {
 
 
     public Set<TypeDef> getDefinitions(String... flags) {
+        if (flags.length == 0) {
+            return Collections.unmodifiableSet(new LinkedHashSet<TypeDef>(definitions.values()));
+        }
 
-        Set<TypeDef> result = new LinkedHashSet<TypeDef>();
-        for (TypeDef candidate : definitions.values()) {
-            boolean matches = true;
-            for (String flag :flags) {
-                if (!candidate.getAttributes().containsKey(flag) || !((Boolean) candidate.getAttributes().get(flag))) {
-                   matches = false;
-                   break;
-                }
+        //Start from the smallest index and verify the rest of the flags against the current definition.
+        Set<String> candidates = null;
+        for (String flag : flags) {
+            Set<String> indexed = flagIndex.get(flag);
+            if (indexed == null) {
+                return Collections.emptySet();
+            } else if (candidates == null || indexed.size() < candidates.size()) {
+                candidates = indexed;
             }
-            if (matches) {
+        }
+
+        Set<TypeDef> result = new LinkedHashSet<TypeDef>();
+        for (String fullyQualifiedName : candidates) {
+            TypeDef candidate = definitions.get(fullyQualifiedName);
+            if (candidate != null && hasFlags(candidate, flags)) {
                 result.add(candidate);
             }
         }
-
         return Collections.unmodifiableSet(result);
     }
 
@@ -111,35 +191,44 @@ public class DefinitionRepository {
     }
 
     public void updateReferenceMap() {
-        snapshot = getReferenceMapInternal();
+        synchronized (lock) {
+            if (rebuildSnapshot || snapshot == null) {
+                rebuildSnapshot = false;
+                changedNames.clear();
+                snapshot = getReferenceMapInternal();
+                return;
+            }
+
+            Map<String, String> mapping = new HashMap<String, String>(snapshot);
+            for (Iterator<String> iterator = changedNames.iterator(); iterator.hasNext();) {
+                String name = iterator.next();
+                iterator.remove();
+                String fullyQualifiedName = custom.containsKey(name) ? custom.get(name) : getLowestFullyQualifiedName(name);
+                if (fullyQualifiedName != null) {
+                    mapping.put(name, fullyQualifiedName);
+                } else {
+                    mapping.remove(name);
+                }
+            }
+            snapshot = mapping;
+        }
     }
 
     public Map<String, String> getReferenceMap() {
-        if (snapshot == null) {
-            snapshot = getReferenceMapInternal();
+        Map<String, String> current = snapshot;
+        if (current == null) {
+            updateReferenceMap();
+            current = snapshot;
         }
-        return snapshot;
+        return current;
     }
 
     private Map<String, String> getReferenceMapInternal() {
         Map<String, String> mapping = new HashMap<String, String>();
-        List<ClassRef> refs = new ArrayList<ClassRef>();
-        for (TypeDef typeDef : getDefinitions()) {
-            refs.add(typeDef.toInternalReference());
-        }
-
-        //It's best to have predictable order, so that we can generate uniform code.
-        Collections.sort(refs, new Comparator<ClassRef>() {
-            @Override
-            public int compare(ClassRef o1, ClassRef o2) {
-                return o1.getFullyQualifiedName().compareTo(o2.getFullyQualifiedName());
-            }
-        });
-
-        for (ClassRef classRef : refs) {
-            String key = classRef.getDefinition().getName();
-            if (!mapping.containsKey(key)) {
-                mapping.put(key, classRef.getDefinition().getFullyQualifiedName());
+        for (String name : nameIndex.keySet()) {
+            String fullyQualifiedName = getLowestFullyQualifiedName(name);
+            if (fullyQualifiedName != null) {
+                mapping.put(name, fullyQualifiedName);
             }
         }
 
@@ -147,19 +236,99 @@ public class DefinitionRepository {
         return mapping;
     }
 
+    /**
+     * Finds the definition to use for a simple name.
+     * The fully qualified names of each simple name are kept sorted, so that we can generate uniform code by picking the lowest one,
+     * regardless of the order in which definitions were registered.
+     * @param name  The simple name.
+     * @return      The lowest fully qualified name of the matching definitions or null if none is registered.
+     */
+    private String getLowestFullyQualifiedName(String name) {
+        Set<String> indexed = nameIndex.get(name);
+        if (indexed != null) {
+            for (String fullyQualifiedName : indexed) {
+                TypeDef definition = definitions.get(fullyQualifiedName);
+                if (definition != null && name.equals(String.valueOf(definition.getName()))) {
+                    return fullyQualifiedName;
+                }
+            }
+        }
+        return null;
+    }
+
     public String putCustomMapping(String name, String fqn) {
-         return custom.put(name, fqn);
+        String previous = custom.put(name, fqn);
+        changedNames.add(name);
+        return previous;
     }
 
     public String removeCustomMapping(String name) {
-        return custom.remove(name);
+        String previous = custom.remove(name);
+        changedNames.add(name);
+        return previous;
     }
 
     public boolean customMappingExists(String name) {
         return custom.containsKey(name);
     }
 
+    /**
+     * @return A number that changes every time the registered definitions change.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
     public void clear() {
-        definitions.clear();
+        synchronized (lock) {
+            definitions.clear();
+            flagIndex.clear();
+            nameIndex.clear();
+            rebuildSnapshot = true;
+            version.incrementAndGet();
+        }
+    }
+
+    private static boolean hasFlags(TypeDef definition, String... flags) {
+        for (String flag : flags) {
+            if (!Boolean.TRUE.equals(definition.getAttributes().get(flag))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void index(TypeDef definition) {
+        String fullyQualifiedName = definition.getFullyQualifiedName();
+        for (Map.Entry<String, Object> attribute : definition.getAttributes().entrySet()) {
+            if (Boolean.TRUE.equals(attribute.getValue())) {
+                indexOf(flagIndex, attribute.getKey()).add(fullyQualifiedName);
+            }
+        }
+        indexOf(nameIndex, String.valueOf(definition.getName())).add(fullyQualifiedName);
+        changedNames.add(String.valueOf(definition.getName()));
+    }
+
+    private void unindex(TypeDef definition) {
+        String fullyQualifiedName = definition.getFullyQualifiedName();
+        for (Map.Entry<String, Object> attribute : definition.getAttributes().entrySet()) {
+            if (Boolean.TRUE.equals(attribute.getValue())) {
+                indexOf(flagIndex, attribute.getKey()).remove(fullyQualifiedName);
+            }
+        }
+        indexOf(nameIndex, String.valueOf(definition.getName())).remove(fullyQualifiedName);
+        changedNames.add(String.valueOf(definition.getName()));
+    }
+
+    private static Set<String> indexOf(ConcurrentMap<String, Set<String>> index, String key) {
+        Set<String> values = index.get(key);
+        if (values == null) {
+            values = new ConcurrentSkipListSet<String>();
+            Set<String> existing = index.putIfAbsent(key, values);
+            if (existing != null) {
+                values = existing;
+            }
+        }
+        return values;
     }
 }
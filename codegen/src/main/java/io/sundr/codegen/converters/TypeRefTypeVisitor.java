@@ -112,4 +112,7 @@ public class TypeRefTypeVisitor implements TypeVisitor<TypeRef, Integer> {
         return null;
     }
 
+    public TypeRef visitIntersection(javax.lang.model.type.IntersectionType t, Integer dimension) {
+        return null;
+    }
 }
@@ -199,7 +199,14 @@ public class ClassTo {
         }
     };
 
-    public static final Function<Class, TypeDef> TYPEDEF = FunctionFactory.cache(INTERNAL_TYPEDEF).withFallback(INTERNAL_SHALLOW_TYPEDEF).withMaximumRecursionLevel(5).withMaximumNestingDepth(5);
+    private static final Function<Class, TypeDef> CACHED_TYPEDEF = FunctionFactory.cache(INTERNAL_TYPEDEF).withFallback(INTERNAL_SHALLOW_TYPEDEF).withMaximumRecursionLevel(5).withMaximumNestingDepth(5);
+
+    //The cache is shared by all repositories, so definitions created for an other repository need to be registered to the current one.
+    public static final Function<Class, TypeDef> TYPEDEF = new Function<Class, TypeDef>() {
+        public TypeDef apply(Class item) {
+            return DefinitionRepository.getRepository().registerIfAbsent(CACHED_TYPEDEF.apply(item));
+        }
+    };
 
     private static Function<Type, TypeParamDef> TYPEPARAMDEF = FunctionFactory.cache(new Function<Type, TypeParamDef>() {
 
@@ -41,6 +41,7 @@ import com.github.javaparser.ast.type.ReferenceType;
 import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.ast.type.VoidType;
 import com.github.javaparser.ast.type.WildcardType;
+import io.sundr.FunctionFactory;
 import io.sundr.builder.Function;
 import io.sundr.codegen.DefinitionRepository;
 import io.sundr.codegen.model.AnnotationRef;
@@ -212,7 +213,10 @@ public class Sources {
             String fqn = boundPackage + "." + boundName;
             TypeDef knownDefinition = DefinitionRepository.getRepository().getDefinition(fqn);
 
-            if (knownDefinition != null) {
+            if (knownDefinition != null && knownDefinition.getParameters().isEmpty()) {
+                //Definitions created from plain references don't know their parameters, so we keep the arguments as is.
+                return new ClassRefBuilder().withDefinition(knownDefinition).withArguments(arguments).build();
+            } else if (knownDefinition != null) {
                 return arguments.isEmpty()
                         ? new ClassRefBuilder().withDefinition(knownDefinition).build()
                         : knownDefinition.toReference(arguments);
@@ -253,7 +257,7 @@ public class Sources {
                 }
             } else if (type instanceof PrimitiveType) {
                 PrimitiveType primitiveType = (PrimitiveType) type;
-                return new PrimitiveRefBuilder().withName(primitiveType.getType().name()).build();
+                return new PrimitiveRefBuilder().withName(primitiveType.getType().name().toLowerCase()).build();
             } else if (type instanceof ClassOrInterfaceType) {
                 return CLASS_OR_TYPEPARAM_REF.apply((ClassOrInterfaceType) type);
             }
@@ -509,13 +513,22 @@ public class Sources {
         }
     };
 
+    /**
+     * Parses classpath resources once. Only the bundled sources are parsed this way, and their syntax trees are only read.
+     * They are converted again on each use, as types are resolved against the {@link DefinitionRepository}.
+     */
+    private static FunctionFactory<String, CompilationUnit> CACHED_FROM_CLASSPATH_TO_COMPILATIONUNIT = FunctionFactory.cache(new io.sundr.Function<String, CompilationUnit>() {
+        public CompilationUnit apply(String resource) {
+            return FROM_CLASSPATH_TO_COMPILATIONUNIT.apply(resource);
+        }
+    });
+
     public static Function<String, TypeDef> FROM_CLASSPATH_TO_SINGLE_TYPEDEF = new Function<String, TypeDef>() {
 
         public TypeDef apply(String resource) {
-            CompilationUnit cu = Sources.FROM_CLASSPATH_TO_COMPILATIONUNIT.apply(resource);
+            CompilationUnit cu = CACHED_FROM_CLASSPATH_TO_COMPILATIONUNIT.apply(resource);
             TypeDeclaration typeDeclaration = cu.getTypes().get(0);
             return TYPEDEF.apply(typeDeclaration);
-
         }
     };
 
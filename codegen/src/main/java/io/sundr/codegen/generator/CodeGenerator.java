@@ -17,22 +17,17 @@
 package io.sundr.codegen.generator;
 
 import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
 import org.apache.velocity.runtime.directive.Directive;
-import org.apache.velocity.runtime.resource.loader.StringResourceLoader;
-import org.apache.velocity.runtime.resource.util.StringResourceRepository;
 
 import java.io.IOException;
 import java.io.Writer;
 import java.net.URL;
 import java.util.Set;
 
-import static io.sundr.codegen.utils.StringUtils.loadResource;
-
 public class CodeGenerator<M> {
 
-    private static final String TEMPLATE = "template";
     private static final String MODEL = "model";
-    private static final String TEMPLATE_READER_FAILURE = "Failed to read template.";
 
     private final CodeGeneratorContext context;
     private final Writer writer;
@@ -41,6 +36,7 @@ public class CodeGenerator<M> {
     private final URL templateUrl;
     private final Template template;
     private final Set<Class<? extends Directive>> directives;
+    private final VelocityContext velocityContext;
 
     public CodeGenerator(CodeGeneratorContext context, M model, Writer writer, URL templateUrl, String templateResource, Set<Class<? extends Directive>> directives) {
         this.context = context != null ? context : new CodeGeneratorContext();
@@ -49,20 +45,10 @@ public class CodeGenerator<M> {
         this.templateResource = templateResource;
         this.templateUrl = templateUrl;
         this.directives = directives;
-
-        StringResourceRepository repo = StringResourceLoader.getRepository();
-        try {
-            repo.putStringResource(TEMPLATE, templateUrl != null ? loadResource(templateUrl) : loadResource(templateResource));
-        } catch (Exception e) {
-            throw new RuntimeException(TEMPLATE_READER_FAILURE, e);
-        }
-
-        for (Class<? extends Directive> directive : directives) {
-            context.getVelocityEngine().loadDirective(directive.getCanonicalName());
-        }
-
-        this.template = this.context.getVelocityEngine().getTemplate(TEMPLATE);
-        this.context.getVelocityContext().put(MODEL, model);
+        this.template = this.context.getTemplate(templateUrl, templateResource, directives);
+        //The model is kept in a context of its own, so that generators sharing a context can run concurrently.
+        this.velocityContext = new VelocityContext(this.context.getVelocityContext());
+        this.velocityContext.put(MODEL, model);
     }
 
     public CodeGenerator(M model, Writer writer, URL templateUrl, String templateResource, Set<Class<? extends Directive>> directives) {
@@ -95,6 +81,6 @@ public class CodeGenerator<M> {
     }
 
     public void generate() throws IOException {
-        GeneratorUtils.generate(context.getVelocityContext(), writer, getTemplate());
+        GeneratorUtils.generate(velocityContext, writer, getTemplate());
     }
 }
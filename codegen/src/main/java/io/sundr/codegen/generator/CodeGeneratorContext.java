@@ -19,15 +19,31 @@ package io.sundr.codegen.generator;
 import io.sundr.codegen.directives.ClassDirective;
 import io.sundr.codegen.directives.FieldDirective;
 import io.sundr.codegen.directives.MethodDirective;
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.directive.Directive;
 import org.apache.velocity.runtime.resource.loader.StringResourceLoader;
+import org.apache.velocity.runtime.resource.util.StringResourceRepository;
+
+import java.net.URL;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static io.sundr.codegen.utils.StringUtils.loadResource;
 
 public class CodeGeneratorContext {
 
+    private static final String TEMPLATE_READER_FAILURE = "Failed to read template.";
+
     private final VelocityEngine velocityEngine;
     private final VelocityContext velocityContext;
+    private final StringResourceRepository repository;
+    private final ConcurrentMap<String, Template> templates = new ConcurrentHashMap<String, Template>();
+    private final Set<String> directives = new TreeSet<String>();
 
     public CodeGeneratorContext() {
         this(new VelocityEngine(), new VelocityContext());
@@ -39,7 +55,10 @@ public class CodeGeneratorContext {
 
         this.velocityEngine.setProperty(RuntimeConstants.RESOURCE_LOADER, "string");
         this.velocityEngine.setProperty("string.resource.loader.class", StringResourceLoader.class.getName());
+        //Keep the templates in a repository of this engine, rather than the static one that is shared by all engines.
+        this.velocityEngine.setProperty("string.resource.loader." + StringResourceLoader.REPOSITORY_STATIC, "false");
         this.velocityEngine.init();
+        this.repository = (StringResourceRepository) this.velocityEngine.getApplicationAttribute(StringResourceLoader.REPOSITORY_NAME_DEFAULT);
 
         //Load standard directives
         this.velocityEngine.loadDirective(ClassDirective.class.getCanonicalName());
@@ -47,6 +66,47 @@ public class CodeGeneratorContext {
         this.velocityEngine.loadDirective(FieldDirective.class.getCanonicalName());
     }
 
+    /**
+     * Returns the parsed template for the specified url or resource.
+     * Templates are read and parsed once and then reused by all generators that share this context.
+     * Each template is kept in the repository under its own key, which includes the custom directives it was parsed with.
+     * @param templateUrl       The url of the template, or null to use the resource.
+     * @param templateResource  The classpath resource of the template.
+     * @param directives        The custom directives used by the template.
+     * @return                  The parsed template.
+     */
+    public Template getTemplate(URL templateUrl, String templateResource, Set<Class<? extends Directive>> directives) {
+        Set<String> directiveNames = new TreeSet<String>();
+        for (Class<? extends Directive> directive : directives) {
+            directiveNames.add(directive.getCanonicalName());
+        }
+
+        String key = (templateUrl != null ? templateUrl.toExternalForm() : templateResource) + (directiveNames.isEmpty() ? "" : directiveNames.toString());
+        Template template = templates.get(key);
+        if (template != null) {
+            return template;
+        }
+
+        synchronized (velocityEngine) {
+            template = templates.get(key);
+            if (template == null) {
+                for (String directive : directiveNames) {
+                    if (this.directives.add(directive)) {
+                        velocityEngine.loadDirective(directive);
+                    }
+                }
+                try {
+                    repository.putStringResource(key, templateUrl != null ? loadResource(templateUrl) : loadResource(templateResource));
+                } catch (Exception e) {
+                    throw new RuntimeException(TEMPLATE_READER_FAILURE, e);
+                }
+                template = velocityEngine.getTemplate(key);
+                templates.put(key, template);
+            }
+        }
+        return template;
+    }
+
     public VelocityEngine getVelocityEngine() {
         return velocityEngine;
     }
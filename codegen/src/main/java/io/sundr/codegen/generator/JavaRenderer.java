@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.codegen.generator;
+
+import io.sundr.codegen.model.Method;
+import io.sundr.codegen.model.Property;
+import io.sundr.codegen.model.Statement;
+import io.sundr.codegen.model.TypeDef;
+
+import java.io.IOException;
+
+/**
+ * Renders a {@link TypeDef} as a java source file, without going through velocity.
+ * The output is the same as the one of the builder source file template and its class, method and field directives,
+ * including its whitespace, so that the two can be used interchangeably.
+ */
+public class JavaRenderer {
+
+    private static final String INDENT = "    ";
+    private static final String NEWLINE = "\n";
+    private static final String SEMICOLON = ";";
+    private static final String SPACE = " ";
+    private static final String SQUIGGLE_L = "{";
+    private static final String SQUIGGLE_R = "}";
+
+    public void render(TypeDef type, Appendable out) throws IOException {
+        out.append("package ").append(type.getPackageName()).append(SEMICOLON).append(NEWLINE);
+        out.append(NEWLINE);
+        for (String i : type.getImports()) {
+            out.append("import ").append(i).append(SEMICOLON).append(NEWLINE);
+        }
+        out.append(NEWLINE);
+
+        out.append(type.toString()).append(SQUIGGLE_L).append(NEWLINE);
+        out.append(NEWLINE);
+        if (!type.isInterface()) {
+            for (Property property : type.getProperties()) {
+                out.append(INDENT);
+                writeField(out, property);
+                out.append(NEWLINE);
+            }
+            out.append(NEWLINE);
+            for (Method constructor : type.getConstructors()) {
+                out.append(INDENT);
+                writeMethod(out, constructor, false, INDENT, "");
+            }
+        }
+        out.append(NEWLINE);
+        for (Method method : type.getMethods()) {
+            out.append(INDENT);
+            writeMethod(out, method, type.isInterface(), INDENT, "");
+            out.append(NEWLINE);
+        }
+        out.append(NEWLINE);
+        for (TypeDef innerType : type.getInnerTypes()) {
+            out.append(INDENT);
+            writeInnerType(out, innerType);
+        }
+        out.append(NEWLINE);
+        out.append(NEWLINE).append(SQUIGGLE_R).append(NEWLINE);
+    }
+
+    private void writeInnerType(Appendable out, TypeDef type) throws IOException {
+        out.append(type.toString()).append(SQUIGGLE_L).append(NEWLINE);
+        out.append(NEWLINE);
+        out.append(INDENT).append(INDENT);
+        if (!type.isInterface()) {
+            for (Property property : type.getProperties()) {
+                out.append(INDENT).append("private final ").append(String.valueOf(property.getTypeRef())).append(SPACE).append(property.getName()).append(SEMICOLON).append(NEWLINE);
+                out.append(INDENT);
+            }
+            out.append(NEWLINE);
+            out.append(INDENT);
+            for (Method constructor : type.getConstructors()) {
+                out.append(INDENT).append(INDENT);
+                writeMethod(out, constructor, false, INDENT + INDENT, INDENT);
+                out.append(INDENT);
+            }
+        }
+        out.append(NEWLINE);
+        for (Method method : type.getMethods()) {
+            out.append(INDENT);
+            writeMethod(out, method, type.isInterface(), INDENT, "");
+        }
+        out.append(NEWLINE).append(SQUIGGLE_R).append(NEWLINE);
+    }
+
+    private void writeField(Appendable out, Property field) throws IOException {
+        out.append(field.toString());
+        if (field.getAttributes().get("INIT") != null) {
+            out.append(" = ").append((String) field.getAttributes().get("INIT"));
+        }
+        out.append(SEMICOLON);
+    }
+
+    /**
+     * Writes a method and its statements.
+     * @param out           Where to write the method.
+     * @param method        The method.
+     * @param isInterface   Whether the method belongs to an interface.
+     * @param indent        The indentation of the method, which the template repeats before each statement.
+     * @param suffix        The whitespace the template adds after the statements.
+     * @throws IOException
+     */
+    private void writeMethod(Appendable out, Method method, boolean isInterface, String indent, String suffix) throws IOException {
+        out.append(method.toString());
+        //The template always passes some indentation as the block of the method, so the method has a body, even without statements.
+        if (!method.isAbstract() && !isInterface) {
+            out.append(SQUIGGLE_L).append(NEWLINE);
+            out.append(indent);
+            if (method.getBlock() != null) {
+                for (Statement statement : method.getBlock().getStatements()) {
+                    out.append(indent).append(INDENT).append(statement.toString()).append(NEWLINE).append(indent);
+                }
+            }
+            out.append(suffix).append(SQUIGGLE_R).append(NEWLINE);
+        } else {
+            out.append(SEMICOLON);
+        }
+    }
+}
@@ -53,7 +53,7 @@ public BlockFluentImpl( Block instance ){
     for (StringStatement item : items) {StringStatementBuilder builder = new StringStatementBuilder(item);_visitables.add(builder);this.stringStatementStatements.add(builder);} return (A)this;
     }
     public A removeFromStringStatementStatements( StringStatement ...items){
-    for (StringStatement item : items) {StringStatementBuilder builder = new StringStatementBuilder(item);_visitables.remove(builder);this.stringStatementStatements.remove(builder);} return (A)this;
+    for (StringStatement item : items) {StringStatementBuilder builder = new StringStatementBuilder(item);_removeVisitable(this.stringStatementStatements, builder);} return (A)this;
     }
     public StringStatementStatementsNested<A> addNewStringStatementStatement(){
     return new StringStatementStatementsNestedImpl();
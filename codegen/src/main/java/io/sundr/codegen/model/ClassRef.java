@@ -37,6 +37,9 @@ public class ClassRef extends TypeRef {
     private final String fullyQualifiedName;
     private final int dimensions;
     private final List<TypeRef> arguments;
+    private int hashCode;
+    private Resolution resolution;
+    private QualifiedName qualifiedName;
 
     public ClassRef(TypeDef definition, String fullyQualifiedName, int dimensions, List<TypeRef> arguments, Map<String, Object> attributes) {
         super(attributes);
@@ -50,7 +53,28 @@ public class ClassRef extends TypeRef {
     }
 
     public TypeDef getDefinition() {
-        return DefinitionRepository.getRepository().getDefinition(fullyQualifiedName);
+        return resolve().definition;
+    }
+
+    /**
+     * Resolves the definition from the repository.
+     * The result is cached and looked up again only when the repository or its version change.
+     * @return
+     */
+    private Resolution resolve() {
+        DefinitionRepository repository = DefinitionRepository.getRepository();
+        long version = repository.getVersion();
+        Resolution current = resolution;
+        if (current == null || current.repository != repository || current.version != version) {
+            TypeDef resolved = repository.getDefinition(fullyQualifiedName);
+            //The reference may have been created for an other repository (e.g. cached), so fall back to its own definition.
+            if (resolved == null && definition.getFullyQualifiedName().equals(fullyQualifiedName)) {
+                resolved = definition;
+            }
+            current = new Resolution(repository, version, resolved);
+            resolution = current;
+        }
+        return current;
     }
 
 
@@ -94,7 +118,8 @@ public class ClassRef extends TypeRef {
             return true;
         }
 
-        return definition.isAssignableFrom(((ClassRef) other).getDefinition());
+        TypeDef resolved = getDefinition();
+        return (resolved != null ? resolved : definition).isAssignableFrom(((ClassRef) other).getDefinition());
     }
 
     public Set<ClassRef> getReferences() {
@@ -113,22 +138,30 @@ public class ClassRef extends TypeRef {
      * Why? Because an other reference to a class with the same name but different package has been made already.
      * @return
      */
-    private boolean requiresFullyQualifiedName() {
-        Map<String, String> referenceMap = DefinitionRepository.getRepository().getReferenceMap();
+    private boolean requiresFullyQualifiedName(Resolution resolution) {
+        Map<String, String> referenceMap = resolution.repository.getReferenceMap();
+        QualifiedName current = qualifiedName;
+        if (current != null && current.resolution == resolution && current.referenceMap == referenceMap) {
+            return current.required;
+        }
+
+        boolean required = false;
         if (referenceMap != null && referenceMap.containsKey(definition.getName())) {
             String fqn = referenceMap.get(definition.getName());
-            if (!getDefinition().getFullyQualifiedName().equals(fqn)) {
-                return true;
+            if (!resolution.definition.getFullyQualifiedName().equals(fqn)) {
+                required = true;
             }
         }
-        return false;
+        qualifiedName = new QualifiedName(resolution, referenceMap, required);
+        return required;
     }
 
     public String getName() {
-        if (requiresFullyQualifiedName()) {
-            return getDefinition().getFullyQualifiedName();
+        Resolution resolution = resolve();
+        if (requiresFullyQualifiedName(resolution)) {
+            return resolution.definition.getFullyQualifiedName();
         }
-        return getDefinition().getName();
+        return resolution.definition.getName();
     }
 
     @Override
@@ -138,6 +171,7 @@ public class ClassRef extends TypeRef {
 
         ClassRef classRef = (ClassRef) o;
 
+        if (hashCode() != classRef.hashCode()) return false;
         if (dimensions != classRef.dimensions) return false;
         if (definition != null ? !definition.equals(classRef.definition) : classRef.definition != null) return false;
         return arguments != null ? arguments.equals(classRef.arguments) : classRef.arguments == null;
@@ -145,21 +179,27 @@ public class ClassRef extends TypeRef {
 
     @Override
     public int hashCode() {
-        int result = definition != null ? definition.hashCode() : 0;
-        result = 31 * result + dimensions;
-        result = 31 * result + (arguments != null ? arguments.hashCode() : 0);
+        //References are immutable, so the hash code is only computed once.
+        int result = hashCode;
+        if (result == 0) {
+            result = definition != null ? definition.hashCode() : 0;
+            result = 31 * result + dimensions;
+            result = 31 * result + (arguments != null ? arguments.hashCode() : 0);
+            hashCode = result;
+        }
         return result;
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        TypeDef definition = getDefinition();
+        Resolution resolution = resolve();
+        TypeDef definition = resolution.definition;
         if (definition == null) {
             sb.append(UNKWNON);
         }
 
-        if (requiresFullyQualifiedName()) {
+        if (requiresFullyQualifiedName(resolution)) {
             sb.append(definition.getPackageName()).append(DOT);
         }
 
@@ -180,4 +220,28 @@ public class ClassRef extends TypeRef {
         }
         return sb.toString();
     }
+
+    private static final class Resolution {
+        private final DefinitionRepository repository;
+        private final long version;
+        private final TypeDef definition;
+
+        private Resolution(DefinitionRepository repository, long version, TypeDef definition) {
+            this.repository = repository;
+            this.version = version;
+            this.definition = definition;
+        }
+    }
+
+    private static final class QualifiedName {
+        private final Resolution resolution;
+        private final Map<String, String> referenceMap;
+        private final boolean required;
+
+        private QualifiedName(Resolution resolution, Map<String, String> referenceMap, boolean required) {
+            this.resolution = resolution;
+            this.referenceMap = referenceMap;
+            this.required = required;
+        }
+    }
 }
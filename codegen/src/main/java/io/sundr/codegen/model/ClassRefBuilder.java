@@ -65,7 +65,7 @@ public class ClassRefBuilder extends ClassRefFluentImpl<ClassRefBuilder> impleme
     public EditableClassRef build(){
             EditableClassRef buildable = new EditableClassRef(fluent.getDefinition(),fluent.getFullyQualifiedName(),fluent.getDimensions(),fluent.getArguments(),fluent.getAttributes());
             validate(buildable);
-            return buildable;
+            return TypeRefInterner.intern(buildable);
     }
 
     private <T>void validate(T item){
@@ -119,7 +119,7 @@ public class ClassRefFluentImpl<A extends ClassRefFluent<A>> extends TypeRefFlue
     }
 
     public A removeFromVoidRefArguments(VoidRef... items){
-            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_removeVisitable(this.arguments, builder);} return (A)this;
     }
 
     public ClassRefFluent.VoidRefArgumentsNested<A> addNewVoidRefArgument(){
@@ -135,7 +135,7 @@ public class ClassRefFluentImpl<A extends ClassRefFluent<A>> extends TypeRefFlue
     }
 
     public A removeFromWildcardRefArguments(WildcardRef... items){
-            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_removeVisitable(this.arguments, builder);} return (A)this;
     }
 
     public ClassRefFluent.WildcardRefArgumentsNested<A> addNewWildcardRefArgument(){
@@ -151,7 +151,7 @@ public class ClassRefFluentImpl<A extends ClassRefFluent<A>> extends TypeRefFlue
     }
 
     public A removeFromPrimitiveRefArguments(PrimitiveRef... items){
-            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_removeVisitable(this.arguments, builder);} return (A)this;
     }
 
     public ClassRefFluent.PrimitiveRefArgumentsNested<A> addNewPrimitiveRefArgument(){
@@ -167,7 +167,7 @@ public class ClassRefFluentImpl<A extends ClassRefFluent<A>> extends TypeRefFlue
     }
 
     public A removeFromTypeParamRefArguments(TypeParamRef... items){
-            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_removeVisitable(this.arguments, builder);} return (A)this;
     }
 
     public ClassRefFluent.TypeParamRefArgumentsNested<A> addNewTypeParamRefArgument(){
@@ -183,7 +183,7 @@ public class ClassRefFluentImpl<A extends ClassRefFluent<A>> extends TypeRefFlue
     }
 
     public A removeFromClassRefArguments(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_removeVisitable(this.arguments, builder);} return (A)this;
     }
 
     public ClassRefFluent.ClassRefArgumentsNested<A> addNewClassRefArgument(){
@@ -54,7 +54,7 @@ public class MethodFluentImpl<A extends MethodFluent<A>> extends ModifierSupport
     }
 
     public A removeFromAnnotations(AnnotationRef... items){
-            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_visitables.remove(builder);this.annotations.remove(builder);} return (A)this;
+            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_removeVisitable(this.annotations, builder);} return (A)this;
     }
 
     public List<AnnotationRef> getAnnotations(){
@@ -83,7 +83,7 @@ public class MethodFluentImpl<A extends MethodFluent<A>> extends ModifierSupport
     }
 
     public A removeFromParameters(TypeParamDef... items){
-            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_visitables.remove(builder);this.parameters.remove(builder);} return (A)this;
+            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_removeVisitable(this.parameters, builder);} return (A)this;
     }
 
     public List<TypeParamDef> getParameters(){
@@ -193,7 +193,7 @@ public class MethodFluentImpl<A extends MethodFluent<A>> extends ModifierSupport
     }
 
     public A removeFromArguments(Property... items){
-            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_removeVisitable(this.arguments, builder);} return (A)this;
     }
 
     public List<Property> getArguments(){
@@ -230,7 +230,7 @@ public class MethodFluentImpl<A extends MethodFluent<A>> extends ModifierSupport
     }
 
     public A removeFromExceptions(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.exceptions.remove(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_removeVisitable(this.exceptions, builder);} return (A)this;
     }
 
     public List<ClassRef> getExceptions(){
@@ -28,6 +28,8 @@ public class ModifierSupport extends AttributeSupport {
     public static final String STATIC = "static";
     public static final String FINAL = "final";
     public static final String SYNCHRONIZED = "synchronized";
+    public static final String TRANSIENT = "transient";
+    public static final String VOLATILE = "volatile";
 
     private final int modifiers;
 
@@ -65,7 +67,11 @@ public class ModifierSupport extends AttributeSupport {
     }
 
     public boolean isTransient() {
-        return Modifier.isSynchronized(modifiers);
+        return Modifier.isTransient(modifiers);
+    }
+
+    public boolean isVolatile() {
+        return Modifier.isVolatile(modifiers);
     }
 
     public int getModifiers() {
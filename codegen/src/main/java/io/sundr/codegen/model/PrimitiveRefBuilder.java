@@ -61,7 +61,7 @@ public class PrimitiveRefBuilder extends PrimitiveRefFluentImpl<PrimitiveRefBuil
     public EditablePrimitiveRef build(){
             EditablePrimitiveRef buildable = new EditablePrimitiveRef(fluent.getName(),fluent.getDimensions(),fluent.getAttributes());
             validate(buildable);
-            return buildable;
+            return TypeRefInterner.intern(buildable);
     }
 
     private <T>void validate(T item){
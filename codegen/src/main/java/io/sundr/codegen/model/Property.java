@@ -115,6 +115,14 @@ public class Property extends ModifierSupport {
             sb.append(FINAL).append(SPACE);
         }
 
+        if (isTransient()) {
+            sb.append(TRANSIENT).append(SPACE);
+        }
+
+        if (isVolatile()) {
+            sb.append(VOLATILE).append(SPACE);
+        }
+
         sb.append(typeRef).append(SPACE);
         sb.append(name);
 
@@ -36,7 +36,7 @@ public SourceFluentImpl( Source instance ){
     for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_visitables.add(builder);this.types.add(builder);} return (A)this;
     }
     public A removeFromTypes( TypeDef ...items){
-    for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_visitables.remove(builder);this.types.remove(builder);} return (A)this;
+    for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_removeVisitable(this.types, builder);} return (A)this;
     }
     public List<TypeDef> getTypes(){
     return build(types);
@@ -16,6 +16,7 @@
 
 package io.sundr.codegen.model;
 
+import io.sundr.codegen.DefinitionRepository;
 import io.sundr.codegen.utils.StringUtils;
 
 import java.util.ArrayList;
@@ -52,6 +53,10 @@ public class TypeDef extends ModifierSupport {
     private final TypeDef outerType;
     private final List<TypeDef> innerTypes;
 
+    private volatile List<ClassRef> references;
+    private volatile Imports imports;
+    private volatile SupertypeClosure supertypes;
+
     public TypeDef(Kind kind, String packageName, String name, List<AnnotationRef> annotations, List<ClassRef> extendsList, List<ClassRef> implementsList, List<TypeParamDef> parameters, List<Property> properties, List<Method> constructors, List<Method> methods, TypeDef outerType, List<TypeDef> innerTypes, int modifiers, Map<String, Object> attributes) {
         super(modifiers, attributes);
         this.kind = kind != null ? kind : Kind.CLASS;
@@ -119,6 +124,19 @@ public class TypeDef extends ModifierSupport {
     }
 
     public boolean isAssignableFrom(TypeDef o) {
+        if (isSameAs(o)) {
+            return true;
+        }
+
+        for (TypeDef supertype : o.getSupertypes()) {
+            if (isSameAs(supertype)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSameAs(TypeDef o) {
         if (this == o || this.equals(o)) {
             return true;
         }
@@ -129,21 +147,47 @@ public class TypeDef extends ModifierSupport {
         if (o.packageName == null && "java.lang".equals(packageName) && name.equalsIgnoreCase(o.name)) {
             return true;
         }
+        return false;
+    }
 
-        for (ClassRef e : o.getExtendsList()) {
-            if (isAssignableFrom(e.getDefinition())) {
-                return true;
-            }
+    /**
+     * Returns the definitions of all the types this type extends or implements, directly or transitively.
+     * The result is cached and computed again only when the repository or its version change.
+     * @return  The supertypes, in the order they are first reached.
+     */
+    public Set<TypeDef> getSupertypes() {
+        DefinitionRepository repository = DefinitionRepository.getRepository();
+        long version = repository.getVersion();
+        SupertypeClosure current = supertypes;
+        if (current == null || current.repository != repository || current.version != version) {
+            current = new SupertypeClosure(repository, version, Collections.unmodifiableSet(supertypesOf(this)));
+            supertypes = current;
         }
+        return current.supertypes;
+    }
 
-        for (ClassRef i : o.getImplementsList()) {
-            if (isAssignableFrom(i.getDefinition())) {
-                return true;
+    private static Set<TypeDef> supertypesOf(TypeDef type) {
+        Set<TypeDef> result = new LinkedHashSet<TypeDef>();
+        List<TypeDef> pending = new ArrayList<TypeDef>();
+        pending.add(type);
+        while (!pending.isEmpty()) {
+            TypeDef current = pending.remove(pending.size() - 1);
+            List<TypeDef> direct = new ArrayList<TypeDef>();
+            for (ClassRef e : current.getExtendsList()) {
+                direct.add(e.getDefinition());
+            }
+            for (ClassRef i : current.getImplementsList()) {
+                direct.add(i.getDefinition());
+            }
+            //Push in reverse, so that supertypes are visited in declaration order.
+            for (int i = direct.size() - 1; i >= 0; i--) {
+                TypeDef supertype = direct.get(i);
+                if (supertype != null && !supertype.equals(type) && result.add(supertype)) {
+                    pending.add(supertype);
+                }
             }
         }
-
-
-        return false;
+        return result;
     }
 
     public Kind getKind() {
@@ -288,6 +332,13 @@ public class TypeDef extends ModifierSupport {
     }
 
     public Set<String> getImports() {
+        DefinitionRepository repository = DefinitionRepository.getRepository();
+        long version = repository.getVersion();
+        Imports current = imports;
+        if (current != null && current.repository == repository && current.version == version) {
+            return current.imports;
+        }
+
         final Set<String> imports = new LinkedHashSet<String>();
         for (ClassRef ref : getReferenceMap().values()) {
             TypeDef definition = ref.getDefinition();
@@ -300,7 +351,9 @@ public class TypeDef extends ModifierSupport {
                 imports.add(ref.getDefinition().getFullyQualifiedName());
             }
         }
-        return imports;
+        current = new Imports(repository, version, Collections.unmodifiableSet(imports));
+        this.imports = current;
+        return current.imports;
     }
 
 
@@ -310,7 +363,7 @@ public class TypeDef extends ModifierSupport {
      */
     private Map<String, ClassRef> getReferenceMap() {
         Map<String, ClassRef> mapping = new HashMap<String, ClassRef>();
-        List<ClassRef> refs = getReferences();
+        List<ClassRef> refs = new ArrayList<ClassRef>(getReferences());
 
         //It's best to have predictable order, so that we can generate uniform code.
         Collections.sort(refs, new Comparator<ClassRef>() {
@@ -329,7 +382,21 @@ public class TypeDef extends ModifierSupport {
         return mapping;
     }
 
+    /**
+     * Returns all the references of the type.
+     * The type is immutable, so the references are only collected on first use.
+     * @return
+     */
     public List<ClassRef> getReferences() {
+        List<ClassRef> current = references;
+        if (current == null) {
+            current = Collections.unmodifiableList(collectReferences());
+            references = current;
+        }
+        return current;
+    }
+
+    private List<ClassRef> collectReferences() {
         final List<ClassRef> refs = new ArrayList<ClassRef>();
 
         for (AnnotationRef a : annotations) {
@@ -421,4 +488,28 @@ public class TypeDef extends ModifierSupport {
 
         return sb.toString();
     }
+
+    private static final class Imports {
+        private final DefinitionRepository repository;
+        private final long version;
+        private final Set<String> imports;
+
+        private Imports(DefinitionRepository repository, long version, Set<String> imports) {
+            this.repository = repository;
+            this.version = version;
+            this.imports = imports;
+        }
+    }
+
+    private static final class SupertypeClosure {
+        private final DefinitionRepository repository;
+        private final long version;
+        private final Set<TypeDef> supertypes;
+
+        private SupertypeClosure(DefinitionRepository repository, long version, Set<TypeDef> supertypes) {
+            this.repository = repository;
+            this.version = version;
+            this.supertypes = supertypes;
+        }
+    }
 }
@@ -86,7 +86,7 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A removeFromAnnotations(AnnotationRef... items){
-            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_visitables.remove(builder);this.annotations.remove(builder);} return (A)this;
+            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_removeVisitable(this.annotations, builder);} return (A)this;
     }
 
     public List<AnnotationRef> getAnnotations(){
@@ -115,7 +115,7 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A removeFromExtendsList(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.extendsList.remove(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_removeVisitable(this.extendsList, builder);} return (A)this;
     }
 
     public List<ClassRef> getExtendsList(){
@@ -144,7 +144,7 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A removeFromImplementsList(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.implementsList.remove(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_removeVisitable(this.implementsList, builder);} return (A)this;
     }
 
     public List<ClassRef> getImplementsList(){
@@ -173,7 +173,7 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A removeFromParameters(TypeParamDef... items){
-            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_visitables.remove(builder);this.parameters.remove(builder);} return (A)this;
+            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_removeVisitable(this.parameters, builder);} return (A)this;
     }
 
     public List<TypeParamDef> getParameters(){
@@ -202,7 +202,7 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A removeFromProperties(Property... items){
-            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_visitables.remove(builder);this.properties.remove(builder);} return (A)this;
+            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_removeVisitable(this.properties, builder);} return (A)this;
     }
 
     public List<Property> getProperties(){
@@ -231,7 +231,7 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A removeFromConstructors(Method... items){
-            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_visitables.remove(builder);this.constructors.remove(builder);} return (A)this;
+            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_removeVisitable(this.constructors, builder);} return (A)this;
     }
 
     public List<Method> getConstructors(){
@@ -260,7 +260,7 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A removeFromMethods(Method... items){
-            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_visitables.remove(builder);this.methods.remove(builder);} return (A)this;
+            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_removeVisitable(this.methods, builder);} return (A)this;
     }
 
     public List<Method> getMethods(){
@@ -317,7 +317,7 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A removeFromInnerTypes(TypeDef... items){
-            for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_visitables.remove(builder);this.innerTypes.remove(builder);} return (A)this;
+            for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_removeVisitable(this.innerTypes, builder);} return (A)this;
     }
 
     public List<TypeDef> getInnerTypes(){
@@ -41,7 +41,7 @@ public TypeParamDefFluentImpl( TypeParamDef instance ){
     for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.add(builder);this.bounds.add(builder);} return (A)this;
     }
     public A removeFromBounds( ClassRef ...items){
-    for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+    for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_removeVisitable(this.bounds, builder);} return (A)this;
     }
     public List<ClassRef> getBounds(){
     return build(bounds);
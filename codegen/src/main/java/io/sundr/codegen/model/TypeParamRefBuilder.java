@@ -61,7 +61,7 @@ public class TypeParamRefBuilder extends TypeParamRefFluentImpl<TypeParamRefBuil
     public EditableTypeParamRef build(){
             EditableTypeParamRef buildable = new EditableTypeParamRef(fluent.getName(),fluent.getDimensions(),fluent.getAttributes());
             validate(buildable);
-            return buildable;
+            return TypeRefInterner.intern(buildable);
     }
 
     private <T>void validate(T item){
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.codegen.model;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns the immutable {@link TypeRef}s created by the builders, so that structurally identical references share a
+ * single instance. References are only shared when they are indistinguishable: same type, same values, same attributes
+ * and identical (already interned) arguments or bounds. Interned references are weakly held.
+ */
+final class TypeRefInterner {
+
+    private static final ConcurrentHashMap<Key, Entry> ENTRIES = new ConcurrentHashMap<Key, Entry>();
+    private static final ReferenceQueue<TypeRef> QUEUE = new ReferenceQueue<TypeRef>();
+
+    private TypeRefInterner() {
+    }
+
+    static <T extends TypeRef> T intern(T ref) {
+        expunge();
+        Key key = keyOf(ref);
+        if (key == null) {
+            return ref;
+        }
+        Entry created = new Entry(key, ref);
+        while (true) {
+            Entry existing = ENTRIES.putIfAbsent(key, created);
+            if (existing == null) {
+                return ref;
+            }
+            TypeRef interned = existing.get();
+            if (interned != null) {
+                return (T) interned;
+            }
+            ENTRIES.remove(key, existing);
+        }
+    }
+
+    private static Key keyOf(TypeRef ref) {
+        if (ref instanceof ClassRef) {
+            ClassRef classRef = (ClassRef) ref;
+            return new Key(ref.getClass(), ref.getAttributes(), classRef.getFullyQualifiedName(), classRef.getDimensions(), classRef.getArguments());
+        } else if (ref instanceof PrimitiveRef) {
+            PrimitiveRef primitiveRef = (PrimitiveRef) ref;
+            return new Key(ref.getClass(), ref.getAttributes(), primitiveRef.getName(), primitiveRef.getDimensions(), null);
+        } else if (ref instanceof TypeParamRef) {
+            TypeParamRef typeParamRef = (TypeParamRef) ref;
+            return new Key(ref.getClass(), ref.getAttributes(), typeParamRef.getName(), typeParamRef.getDimensions(), null);
+        } else if (ref instanceof WildcardRef) {
+            return new Key(ref.getClass(), ref.getAttributes(), null, 0, ((WildcardRef) ref).getBounds());
+        } else if (ref instanceof VoidRef) {
+            return new Key(ref.getClass(), ref.getAttributes(), null, 0, null);
+        }
+        return null;
+    }
+
+    private static void expunge() {
+        for (Object stale = QUEUE.poll(); stale != null; stale = QUEUE.poll()) {
+            Entry entry = (Entry) stale;
+            ENTRIES.remove(entry.key, entry);
+        }
+    }
+
+    private static final class Entry extends WeakReference<TypeRef> {
+        private final Key key;
+
+        private Entry(Key key, TypeRef ref) {
+            super(ref, QUEUE);
+            this.key = key;
+        }
+    }
+
+    private static final class Key {
+        private final Class type;
+        private final Map<String, Object> attributes;
+        private final String name;
+        private final int dimensions;
+        private final TypeRef[] nested;
+        private final int hash;
+
+        private Key(Class type, Map<String, Object> attributes, String name, int dimensions, List<TypeRef> nested) {
+            this.type = type;
+            this.attributes = attributes;
+            this.name = name;
+            this.dimensions = dimensions;
+            this.nested = nested != null ? nested.toArray(new TypeRef[nested.size()]) : new TypeRef[0];
+
+            //Attributes are left out of the hash, as they are expensive to hash and rarely tell references apart.
+            int result = type.hashCode();
+            result = 31 * result + (name != null ? name.hashCode() : 0);
+            result = 31 * result + dimensions;
+            for (TypeRef ref : this.nested) {
+                result = 31 * result + System.identityHashCode(ref);
+            }
+            this.hash = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key key = (Key) o;
+            if (hash != key.hash || type != key.type || dimensions != key.dimensions) return false;
+            if (name != null ? !name.equals(key.name) : key.name != null) return false;
+            if (nested.length != key.nested.length) return false;
+            for (int i = 0; i < nested.length; i++) {
+                if (nested[i] != key.nested[i]) return false;
+            }
+            return attributes.equals(key.attributes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -57,7 +57,7 @@ public class VoidRefBuilder extends VoidRefFluentImpl<VoidRefBuilder> implements
     public EditableVoidRef build(){
             EditableVoidRef buildable = new EditableVoidRef(fluent.getAttributes());
             validate(buildable);
-            return buildable;
+            return TypeRefInterner.intern(buildable);
     }
 
     private <T>void validate(T item){
@@ -59,7 +59,7 @@ public class WildcardRefBuilder extends WildcardRefFluentImpl<WildcardRefBuilder
     public EditableWildcardRef build(){
             EditableWildcardRef buildable = new EditableWildcardRef(fluent.getBounds(),fluent.getAttributes());
             validate(buildable);
-            return buildable;
+            return TypeRefInterner.intern(buildable);
     }
 
     private <T>void validate(T item){
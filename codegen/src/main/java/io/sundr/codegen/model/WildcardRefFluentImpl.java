@@ -69,7 +69,7 @@ public class WildcardRefFluentImpl<A extends WildcardRefFluent<A>> extends TypeR
     }
 
     public A removeFromVoidRefBounds(VoidRef... items){
-            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_removeVisitable(this.bounds, builder);} return (A)this;
     }
 
     public WildcardRefFluent.VoidRefBoundsNested<A> addNewVoidRefBound(){
@@ -85,7 +85,7 @@ public class WildcardRefFluentImpl<A extends WildcardRefFluent<A>> extends TypeR
     }
 
     public A removeFromWildcardRefBounds(WildcardRef... items){
-            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_removeVisitable(this.bounds, builder);} return (A)this;
     }
 
     public WildcardRefFluent.WildcardRefBoundsNested<A> addNewWildcardRefBound(){
@@ -101,7 +101,7 @@ public class WildcardRefFluentImpl<A extends WildcardRefFluent<A>> extends TypeR
     }
 
     public A removeFromPrimitiveRefBounds(PrimitiveRef... items){
-            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_removeVisitable(this.bounds, builder);} return (A)this;
     }
 
     public WildcardRefFluent.PrimitiveRefBoundsNested<A> addNewPrimitiveRefBound(){
@@ -117,7 +117,7 @@ public class WildcardRefFluentImpl<A extends WildcardRefFluent<A>> extends TypeR
     }
 
     public A removeFromTypeParamRefBounds(TypeParamRef... items){
-            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_removeVisitable(this.bounds, builder);} return (A)this;
     }
 
     public WildcardRefFluent.TypeParamRefBoundsNested<A> addNewTypeParamRefBound(){
@@ -133,7 +133,7 @@ public class WildcardRefFluentImpl<A extends WildcardRefFluent<A>> extends TypeR
     }
 
     public A removeFromClassRefBounds(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_removeVisitable(this.bounds, builder);} return (A)this;
     }
 
     public WildcardRefFluent.ClassRefBoundsNested<A> addNewClassRefBound(){
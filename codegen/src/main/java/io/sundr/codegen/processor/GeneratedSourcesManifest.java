@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen.processor;
+
+import io.sundr.codegen.utils.IOUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+
+/**
+ * Keeps track of the content hash of each generated source file, in a properties file that persists across builds.
+ * It is used to tell if regenerating a file changed it and if a file was modified after it was generated.
+ */
+public class GeneratedSourcesManifest {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Properties hashes = new Properties();
+
+    /**
+     * Loads the hashes of a previous build.
+     * @param is    The stream to read from.
+     */
+    public void load(InputStream is) {
+        try {
+            hashes.load(is);
+        } catch (IOException e) {
+            //A manifest that can't be read is treated as empty.
+            hashes.clear();
+        }
+    }
+
+    /**
+     * @param name  The fully qualified name of the generated class.
+     * @return      The hash of the file that was last generated for the class or null if none is known.
+     */
+    public String get(String name) {
+        return hashes.getProperty(name);
+    }
+
+    public void put(String name, String hash) {
+        hashes.setProperty(name, hash);
+    }
+
+    /**
+     * Writes the hashes, so that they can be loaded by the next build.
+     * @param os    The stream to write to.
+     * @throws IOException
+     */
+    public void store(OutputStream os) throws IOException {
+        hashes.store(os, null);
+    }
+
+    /**
+     * @param file  The file.
+     * @return      The hash of the content of the file or null if the file doesn't exist.
+     */
+    public static String hashOf(File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        InputStream is = null;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            is = new FileInputStream(file);
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, length);
+            }
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            IOUtils.closeQuietly(is);
+        }
+    }
+}
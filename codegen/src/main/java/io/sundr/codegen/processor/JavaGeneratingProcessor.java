@@ -16,18 +16,95 @@
 
 package io.sundr.codegen.processor;
 
+import io.sundr.codegen.CodegenContext;
 import io.sundr.codegen.generator.CodeGeneratorBuilder;
 import io.sundr.codegen.generator.CodeGeneratorContext;
+import io.sundr.codegen.generator.JavaRenderer;
 import io.sundr.codegen.model.TypeDef;
+import io.sundr.codegen.utils.IOUtils;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.FilerException;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.Element;
+import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
 
 public abstract class JavaGeneratingProcessor extends AbstractProcessor {
 
+    /**
+     * The processor option that makes generation fail, if a generated source was modified after it was generated.
+     */
+    public static final String FAIL_ON_DRIFT_OPTION = "sundrio.failOnDrift";
+
+    /**
+     * The processor option that selects the renderer, e.g. -Asundrio.renderer=direct.
+     */
+    public static final String RENDERER_OPTION = "sundrio.renderer";
+    public static final String DIRECT_RENDERER = "direct";
+
+    private static final String MANIFEST_DIRECTORY = "META-INF/sundrio/";
+    private static final String MANIFEST_SUFFIX = ".properties";
+
     protected CodeGeneratorContext context = new CodeGeneratorContext();
+
+    /**
+     * Whether to render the templates that the {@link JavaRenderer} can replace without velocity.
+     */
+    private boolean directRendering;
+
+    private final JavaRenderer renderer = new JavaRenderer();
+    private final StringBuilder buffer = new StringBuilder();
+    private GeneratedSourcesManifest manifest;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        directRendering = DIRECT_RENDERER.equals(processingEnv.getOptions().get(RENDERER_OPTION));
+        CodegenContext.open(processingEnv);
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> options = new HashSet<String>(super.getSupportedOptions());
+        options.add(FAIL_ON_DRIFT_OPTION);
+        options.add(RENDERER_OPTION);
+        return options;
+    }
+
+    /**
+     * Binds the {@link CodegenContext} of the processing environment to the current thread.
+     * Should be called when a round starts and be followed by {@link #exitRound(CodegenContext, RoundEnvironment)}.
+     * @return  The context that was previously bound.
+     */
+    protected CodegenContext enterRound() {
+        return CodegenContext.bind(processingEnv);
+    }
+
+    /**
+     * Restores the previously bound {@link CodegenContext} and closes the context of the processing environment after the last round.
+     * @param previous  The context that was bound before the round.
+     * @param env       The round environment.
+     */
+    protected void exitRound(CodegenContext previous, RoundEnvironment env) {
+        CodegenContext.bind(previous);
+        if (env.processingOver()) {
+            saveManifest();
+            CodegenContext.close(processingEnv);
+        }
+    }
+
     /**
      * Generates a source file from the specified {@link io.sundr.codegen.model.TypeDef}.
      * @param model                     The model of the class to generate.
@@ -35,10 +112,21 @@ public abstract class JavaGeneratingProcessor extends AbstractProcessor {
      * @throws IOException
      */
     public void generateFromClazz(TypeDef model, String resourceName) throws IOException {
+        generateFromClazz(model, resourceName, new Element[0]);
+    }
+
+    /**
+     * Generates a source file from the specified {@link io.sundr.codegen.model.TypeDef}.
+     * @param model                     The model of the class to generate.
+     * @param resourceName              The template to use.
+     * @param originatingElements       The elements the class is generated from, which incremental compilers use to track dependencies.
+     * @throws IOException
+     */
+    public void generateFromClazz(TypeDef model, String resourceName, Element... originatingElements) throws IOException {
         try {
             generateFromClazz(model, processingEnv
                     .getFiler()
-                    .createSourceFile(model.getFullyQualifiedName()), resourceName);
+                    .createSourceFile(model.getFullyQualifiedName(), originatingElements), resourceName);
         } catch (FilerException e) {
             //TODO: Need to avoid dublicate interfaces here.
         }
@@ -54,12 +142,151 @@ public abstract class JavaGeneratingProcessor extends AbstractProcessor {
      */
    public void generateFromClazz(TypeDef model, JavaFileObject fileObject, String resourceName) throws IOException {
         System.err.println("Generating: "+model.getFullyQualifiedName());
+        if (renderDirectly(resourceName)) {
+            buffer.setLength(0);
+            renderer.render(model, buffer);
+            write(model, fileObject, buffer);
+        } else {
+            write(model, fileObject, render(model, resourceName));
+        }
+    }
+
+    /**
+     * Renders the source of the specified {@link io.sundr.codegen.model.TypeDef}, without writing it.
+     *
+     * @param model        The model of the class to render.
+     * @param resourceName The template to use.
+     * @return             The source.
+     * @throws IOException
+     */
+    private String render(TypeDef model, String resourceName) throws IOException {
+        if (renderDirectly(resourceName)) {
+            StringBuilder sb = new StringBuilder();
+            renderer.render(model, sb);
+            return sb.toString();
+        }
+        StringWriter writer = new StringWriter();
         new CodeGeneratorBuilder<TypeDef>()
                 .withContext(context)
                 .withModel(model)
-                .withWriter(fileObject.openWriter())
+                .withWriter(writer)
                 .withTemplateResource(resourceName)
                 .build()
                 .generate();
+        return writer.toString();
+    }
+
+    /**
+     * Writes the source of a generated class.
+     * The file is always written, as the compiler only compiles sources that are written through the {@link javax.annotation.processing.Filer}.
+     * But if the content didn't change, the previous modification time is restored, so that incremental builds don't see it as changed.
+     * If the file was modified after it was last generated and the {@value #FAIL_ON_DRIFT_OPTION} option is set, an error is reported instead.
+     *
+     * @param model         The model of the generated class.
+     * @param fileObject    The file to write.
+     * @param source        The source.
+     * @throws IOException
+     */
+    private void write(TypeDef model, JavaFileObject fileObject, CharSequence source) throws IOException {
+        String name = model.getFullyQualifiedName();
+        File file = fileOf(fileObject);
+        String previousHash = null;
+        long lastModified = 0;
+        if (file != null) {
+            lastModified = file.lastModified();
+            previousHash = GeneratedSourcesManifest.hashOf(file);
+            String generatedHash = manifest().get(name);
+            if (previousHash != null && generatedHash != null && !generatedHash.equals(previousHash) && isFailOnDrift()) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Generated source: " + file + " has been modified after it was generated.");
+                return;
+            }
+        }
+
+        Writer writer = fileObject.openWriter();
+        try {
+            writer.append(source);
+        } finally {
+            writer.close();
+        }
+
+        if (file != null) {
+            String hash = GeneratedSourcesManifest.hashOf(file);
+            if (hash != null && hash.equals(previousHash)) {
+                file.setLastModified(lastModified);
+            }
+            if (hash != null) {
+                manifest.put(name, hash);
+            }
+        }
+    }
+
+    /**
+     * Returns the manifest of the generated sources.
+     * It is kept in the class output and accessed through the {@link javax.annotation.processing.Filer},
+     * so that build tools that track the files of annotation processors also track it.
+     * @return      The manifest, as saved by the previous build.
+     */
+    private GeneratedSourcesManifest manifest() {
+        if (manifest == null) {
+            manifest = new GeneratedSourcesManifest();
+            InputStream is = null;
+            try {
+                is = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", manifestName()).openInputStream();
+                manifest.load(is);
+            } catch (IOException e) {
+                //No manifest was saved by the previous build.
+            } catch (IllegalArgumentException e) {
+                //The class output doesn't support reading.
+            } finally {
+                IOUtils.closeQuietly(is);
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Writes the manifest of the generated sources, if any source has been generated.
+     * The {@link javax.annotation.processing.Filer} only allows creating a resource once, so it should be called after the last round.
+     */
+    private void saveManifest() {
+        if (manifest == null) {
+            return;
+        }
+        OutputStream os = null;
+        try {
+            os = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", manifestName()).openOutputStream();
+            manifest.store(os);
+        } catch (IOException e) {
+            //The manifest is best effort, without it all files are treated as changed.
+        } finally {
+            IOUtils.closeQuietly(os);
+        }
+    }
+
+    /**
+     * Checks if the {@link JavaRenderer} produces the same output as the specified template.
+     * The renderer mirrors a template of the processor that uses it, so subclasses should return true for that template.
+     * @param resourceName  The template.
+     * @return              True if the template can be rendered directly.
+     */
+    protected boolean canRenderDirectly(String resourceName) {
+        return false;
+    }
+
+    private boolean renderDirectly(String resourceName) {
+        return directRendering && canRenderDirectly(resourceName);
+    }
+
+    private String manifestName() {
+        return MANIFEST_DIRECTORY + getClass().getName() + MANIFEST_SUFFIX;
+    }
+
+    private boolean isFailOnDrift() {
+        return Boolean.parseBoolean(processingEnv.getOptions().get(FAIL_ON_DRIFT_OPTION));
+    }
+
+    private static File fileOf(JavaFileObject fileObject) {
+        URI uri = fileObject.toUri();
+        return uri != null && "file".equals(uri.getScheme()) ? new File(uri) : null;
     }
 }
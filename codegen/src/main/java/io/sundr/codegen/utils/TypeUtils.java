@@ -197,6 +197,9 @@ public final class TypeUtils {
                 case TRANSIENT:
                     result = result | java.lang.reflect.Modifier.TRANSIENT;
                     break;
+                case VOLATILE:
+                    result = result | java.lang.reflect.Modifier.VOLATILE;
+                    break;
             }
         }
 
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen;
+
+import io.sundr.CachePolicy;
+import io.sundr.FunctionCache;
+import org.junit.Test;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.assertEquals;
+
+public class CodegenContextTest {
+
+    @Test
+    public void testFunctionCachesAreClearedWhenTheLastContextIsClosed() {
+        FunctionCache<String, String> cache = new FunctionCache<String, String>(CachePolicy.UNBOUNDED, 0);
+        ProcessingEnvironment first = newEnvironment();
+        ProcessingEnvironment second = newEnvironment();
+
+        CodegenContext.open(first);
+        CodegenContext.open(second);
+        cache.put("key", "value");
+
+        CodegenContext.close(first);
+        assertEquals(1, cache.size());
+
+        CodegenContext.close(second);
+        assertEquals(0, cache.size());
+    }
+
+    private static ProcessingEnvironment newEnvironment() {
+        return (ProcessingEnvironment) Proxy.newProxyInstance(CodegenContextTest.class.getClassLoader(), new Class[]{ProcessingEnvironment.class}, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if (method.getName().equals("equals")) {
+                    return proxy == args[0];
+                } else if (method.getName().equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                }
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen;
+
+import io.sundr.codegen.model.TypeDef;
+import io.sundr.codegen.model.TypeDefBuilder;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DefinitionRepositoryTest {
+
+    private static final String FLAG = "io.sundr.codegen.test.FLAG";
+    private static final String OTHER_FLAG = "io.sundr.codegen.test.OTHER_FLAG";
+
+    @Test
+    public void testFlagIndex() {
+        DefinitionRepository repository = DefinitionRepository.getRepository();
+        TypeDef first = new TypeDefBuilder()
+                .withPackageName("io.sundr.codegen.test.flags")
+                .withName("First")
+                .addToAttributes(FLAG, true)
+                .build();
+
+        TypeDef second = new TypeDefBuilder()
+                .withPackageName("io.sundr.codegen.test.flags")
+                .withName("Second")
+                .addToAttributes(FLAG, true)
+                .addToAttributes(OTHER_FLAG, true)
+                .build();
+
+        repository.register(first);
+        repository.register(second);
+        assertTrue(repository.getDefinitions(FLAG).contains(first));
+        assertTrue(repository.getDefinitions(FLAG).contains(second));
+        assertFalse(repository.getDefinitions(FLAG, OTHER_FLAG).contains(first));
+        assertTrue(repository.getDefinitions(FLAG, OTHER_FLAG).contains(second));
+
+        //Replacing a definition should also update the index.
+        TypeDef unflagged = new TypeDefBuilder(second).addToAttributes(FLAG, false).build();
+        repository.register(unflagged);
+        assertFalse(repository.getDefinitions(FLAG).contains(second));
+        assertTrue(repository.getDefinitions(OTHER_FLAG).contains(unflagged));
+    }
+
+    @Test
+    public void testReferenceMapPrefersLowestFullyQualifiedName() {
+        DefinitionRepository repository = DefinitionRepository.getRepository();
+        repository.register(new TypeDefBuilder().withPackageName("io.sundr.codegen.test.b").withName("Shared").build());
+        repository.register(new TypeDefBuilder().withPackageName("io.sundr.codegen.test.a").withName("Shared").build());
+        repository.updateReferenceMap();
+        assertEquals("io.sundr.codegen.test.a.Shared", repository.getReferenceMap().get("Shared"));
+    }
+
+    @Test
+    public void testReferenceMapIsUpdatedIncrementally() {
+        DefinitionRepository repository = DefinitionRepository.getRepository();
+        repository.register(new TypeDefBuilder().withPackageName("io.sundr.codegen.test.y").withName("Incremental").build());
+        repository.updateReferenceMap();
+        assertEquals("io.sundr.codegen.test.y.Incremental", repository.getReferenceMap().get("Incremental"));
+
+        //Changes are only visible after the next update.
+        repository.register(new TypeDefBuilder().withPackageName("io.sundr.codegen.test.x").withName("Incremental").build());
+        assertEquals("io.sundr.codegen.test.y.Incremental", repository.getReferenceMap().get("Incremental"));
+        repository.updateReferenceMap();
+        assertEquals("io.sundr.codegen.test.x.Incremental", repository.getReferenceMap().get("Incremental"));
+
+        repository.putCustomMapping("Incremental", "io.sundr.codegen.test.z.Incremental");
+        repository.updateReferenceMap();
+        assertEquals("io.sundr.codegen.test.z.Incremental", repository.getReferenceMap().get("Incremental"));
+
+        repository.removeCustomMapping("Incremental");
+        repository.updateReferenceMap();
+        assertEquals("io.sundr.codegen.test.x.Incremental", repository.getReferenceMap().get("Incremental"));
+    }
+
+    @Test
+    public void testBoundRepositoriesAreIsolated() {
+        DefinitionRepository global = DefinitionRepository.getRepository();
+        TypeDef shared = global.register(new TypeDefBuilder().withPackageName("io.sundr.codegen.test.scope").withName("Shared").build());
+
+        DefinitionRepository scoped = DefinitionRepository.create();
+        DefinitionRepository previous = DefinitionRepository.bind(scoped);
+        try {
+            assertSame(scoped, DefinitionRepository.getRepository());
+            assertSame(shared, scoped.getDefinition("io.sundr.codegen.test.scope.Shared"));
+
+            TypeDef local = new TypeDefBuilder().withPackageName("io.sundr.codegen.test.scope").withName("Local").build();
+            local.toReference();
+            assertSame(local, scoped.getDefinition("io.sundr.codegen.test.scope.Local"));
+            assertNull(global.getDefinition("io.sundr.codegen.test.scope.Local"));
+        } finally {
+            DefinitionRepository.bind(previous);
+        }
+        assertSame(global, DefinitionRepository.getRepository());
+    }
+}
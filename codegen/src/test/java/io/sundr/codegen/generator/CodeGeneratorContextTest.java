@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.codegen.generator;
+
+import org.apache.velocity.runtime.directive.Directive;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class CodeGeneratorContextTest {
+
+    private static final Set<Class<? extends Directive>> NO_DIRECTIVES = Collections.emptySet();
+
+    @Test
+    public void testTemplatesAreParsedOnce() throws IOException {
+        CodeGeneratorContext context = new CodeGeneratorContext();
+        URL hello = createTemplate("hello", "Hello $model");
+        URL bye = createTemplate("bye", "Bye $model");
+
+        assertSame(context.getTemplate(hello, null, NO_DIRECTIVES), context.getTemplate(hello, null, NO_DIRECTIVES));
+        assertNotSame(context.getTemplate(hello, null, NO_DIRECTIVES), context.getTemplate(bye, null, NO_DIRECTIVES));
+
+        assertEquals("Hello world", generate(context, hello));
+        assertEquals("Bye world", generate(context, bye));
+        assertEquals("Hello world", generate(new CodeGeneratorContext(), hello));
+    }
+
+    private static String generate(CodeGeneratorContext context, URL template) throws IOException {
+        StringWriter writer = new StringWriter();
+        new CodeGeneratorBuilder<String>()
+                .withContext(context)
+                .withModel("world")
+                .withWriter(writer)
+                .withTemplateUrl(template)
+                .build()
+                .generate();
+        return writer.toString().trim();
+    }
+
+    private static URL createTemplate(String name, String content) throws IOException {
+        File file = File.createTempFile(name, ".vm");
+        file.deleteOnExit();
+        FileWriter writer = new FileWriter(file);
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+        return file.toURI().toURL();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.codegen.model;
+
+import io.sundr.codegen.DefinitionRepository;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ClassRefTest {
+
+    @Test
+    public void testDefinitionFollowsRepository() {
+        TypeDef initial = new TypeDefBuilder()
+                .withKind(Kind.CLASS)
+                .withPackageName("io.sundr.codegen.test")
+                .withName("Resolved")
+                .build();
+
+        ClassRef ref = initial.toReference();
+        assertSame(DefinitionRepository.getRepository().getDefinition("io.sundr.codegen.test.Resolved"), ref.getDefinition());
+
+        TypeDef updated = new TypeDefBuilder(initial).withKind(Kind.INTERFACE).build();
+        long version = DefinitionRepository.getRepository().getVersion();
+        DefinitionRepository.getRepository().register(updated);
+
+        assertTrue(DefinitionRepository.getRepository().getVersion() > version);
+        assertSame(updated, ref.getDefinition());
+    }
+}
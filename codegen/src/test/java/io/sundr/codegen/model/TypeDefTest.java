@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class TypeDefTest {
+
+    private static final TypeDef LIST = new TypeDefBuilder()
+            .withKind(Kind.INTERFACE)
+            .withPackageName("java.util")
+            .withName("List")
+            .build();
+
+    @Test
+    public void testReferencesAreComputedOnce() {
+        TypeDef type = new TypeDefBuilder()
+                .withPackageName("io.sundr.codegen.test")
+                .withName("WithReferences")
+                .addNewProperty()
+                    .withName("items")
+                    .withTypeRef(LIST.toReference())
+                .endProperty()
+                .build();
+
+        assertSame(type.getReferences(), type.getReferences());
+        assertSame(type.getImports(), type.getImports());
+        assertEquals(Collections.singleton("java.util.List"), type.getImports());
+    }
+
+    @Test
+    public void testSupertypesAreTransitive() {
+        TypeDef shape = new TypeDefBuilder()
+                .withKind(Kind.INTERFACE)
+                .withPackageName("io.sundr.codegen.test")
+                .withName("Shape")
+                .build();
+
+        TypeDef abstractShape = new TypeDefBuilder()
+                .withPackageName("io.sundr.codegen.test")
+                .withName("AbstractShape")
+                .withImplementsList(shape.toInternalReference())
+                .build();
+
+        TypeDef circle = new TypeDefBuilder()
+                .withPackageName("io.sundr.codegen.test")
+                .withName("Circle")
+                .withExtendsList(abstractShape.toInternalReference())
+                .build();
+
+        assertEquals(Arrays.asList(abstractShape, shape), new ArrayList<TypeDef>(circle.getSupertypes()));
+        assertSame(circle.getSupertypes(), circle.getSupertypes());
+        assertTrue(shape.isAssignableFrom(circle));
+        assertTrue(abstractShape.isAssignableFrom(circle));
+        assertFalse(circle.isAssignableFrom(shape));
+    }
+}
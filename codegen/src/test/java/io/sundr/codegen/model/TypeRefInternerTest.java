@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.codegen.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TypeRefInternerTest {
+
+    TypeDef list = new TypeDefBuilder()
+            .withKind(Kind.INTERFACE)
+            .withPackageName("java.util")
+            .withName("List")
+            .withParameters(new TypeParamDefBuilder().withName("E").build())
+            .build();
+
+    @Test
+    public void testEqualReferencesAreShared() {
+        ClassRef first = new ClassRefBuilder().withDefinition(list).withArguments(new TypeParamRefBuilder().withName("T").build()).build();
+        ClassRef second = new ClassRefBuilder().withDefinition(list).withArguments(new TypeParamRefBuilder().withName("T").build()).build();
+        assertSame(first, second);
+        assertSame(new PrimitiveRefBuilder().withName("int").build(), new PrimitiveRefBuilder().withName("int").build());
+    }
+
+    @Test
+    public void testDistinguishableReferencesAreNotShared() {
+        TypeParamRef t = new TypeParamRefBuilder().withName("T").build();
+        TypeParamRef tArray = new TypeParamRefBuilder().withName("T").withDimensions(1).build();
+        assertNotSame(t, tArray);
+        assertEquals(1, tArray.getDimensions());
+
+        ClassRef plain = new ClassRefBuilder().withDefinition(list).withArguments(t).build();
+        ClassRef withAttribute = new ClassRefBuilder().withDefinition(list).withArguments(t).addToAttributes("key", "value").build();
+        assertNotSame(plain, withAttribute);
+        assertEquals("value", withAttribute.getAttributes().get("key"));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen.processor;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class GeneratedSourcesManifestTest {
+
+    @Test
+    public void testHashesArePersisted() throws IOException {
+        File directory = File.createTempFile("manifest", "");
+        directory.delete();
+        File source = new File(directory, "Hello.java");
+
+        GeneratedSourcesManifest manifest = new GeneratedSourcesManifest();
+        assertNull(GeneratedSourcesManifest.hashOf(source));
+        assertNull(manifest.get("Hello"));
+
+        directory.mkdirs();
+        write(source, "class Hello {}");
+        String hash = GeneratedSourcesManifest.hashOf(source);
+        manifest.put("Hello", hash);
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        manifest.store(os);
+        GeneratedSourcesManifest loaded = new GeneratedSourcesManifest();
+        loaded.load(new ByteArrayInputStream(os.toByteArray()));
+        assertEquals(hash, loaded.get("Hello"));
+
+        write(source, "class Hello {}");
+        assertEquals(hash, GeneratedSourcesManifest.hashOf(source));
+        write(source, "class Hello { }");
+        assertNotEquals(hash, GeneratedSourcesManifest.hashOf(source));
+    }
+
+    private static void write(File file, String content) throws IOException {
+        FileWriter writer = new FileWriter(file);
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr;
+
+/**
+ * The policies available for the caches of {@link FunctionFactory}.
+ */
+public enum CachePolicy {
+
+    /**
+     * Entries are kept for the lifetime of the cache.
+     */
+    UNBOUNDED,
+
+    /**
+     * Entries are kept up to a maximum size, evicting the least recently used entry first.
+     */
+    LRU,
+
+    /**
+     * Keys are weakly referenced, so entries are dropped once their key is no longer used elsewhere.
+     */
+    WEAK_KEYS,
+
+    /**
+     * Entries are kept until the next annotation processing round.
+     */
+    PER_ROUND
+}
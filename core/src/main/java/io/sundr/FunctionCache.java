@@ -0,0 +1,351 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The cache used by a {@link FunctionFactory}.
+ * The policy of caches created without an explicit policy is read from the system properties
+ * {@value #POLICY_PROPERTY} and {@value #MAX_SIZE_PROPERTY}, so that it can be tuned without rebuilding.
+ * Each cache counts its hits, misses and evictions.
+ */
+public class FunctionCache<X, Y> {
+
+    public static final String POLICY_PROPERTY = "sundrio.cache.policy";
+    public static final String MAX_SIZE_PROPERTY = "sundrio.cache.max-size";
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    private static final Map<FunctionCache, Boolean> CACHES = Collections.synchronizedMap(new WeakHashMap<FunctionCache, Boolean>());
+    private static final ThreadLocal<WeakReference<Object>> CURRENT_ROUND = new ThreadLocal<WeakReference<Object>>();
+
+    private final CachePolicy policy;
+    private final int maxSize;
+    private final Map<X, Y> entries;
+    private final Map<Object, Map<X, Y>> rounds;
+    private final ConcurrentMap<X, Computation<Y>> computations = new ConcurrentHashMap<X, Computation<Y>>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong added = new AtomicLong();
+    private final AtomicLong cleared = new AtomicLong();
+
+    public FunctionCache(CachePolicy policy, final int maxSize) {
+        this.policy = policy;
+        this.maxSize = maxSize;
+        switch (policy) {
+            case LRU:
+                this.entries = Collections.synchronizedMap(new LinkedHashMap<X, Y>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<X, Y> eldest) {
+                        if (size() > maxSize) {
+                            evictions.incrementAndGet();
+                            return true;
+                        }
+                        return false;
+                    }
+                });
+                break;
+            case WEAK_KEYS:
+                this.entries = Collections.synchronizedMap(new WeakHashMap<X, Y>());
+                break;
+            default:
+                this.entries = new ConcurrentHashMap<X, Y>();
+        }
+        this.rounds = policy == CachePolicy.PER_ROUND ? Collections.synchronizedMap(new WeakHashMap<Object, Map<X, Y>>()) : null;
+        CACHES.put(this, true);
+    }
+
+    /**
+     * Creates an unbounded cache backed by the specified map.
+     * Access to the map is synchronized, so it doesn't need to be thread safe.
+     * @param entries   The map that holds the entries.
+     */
+    public FunctionCache(Map<X, Y> entries) {
+        this.policy = CachePolicy.UNBOUNDED;
+        this.maxSize = 0;
+        this.entries = Collections.synchronizedMap(entries);
+        this.rounds = null;
+        CACHES.put(this, true);
+    }
+
+    /**
+     * Creates a cache using the policy configured in the system properties, or an unbounded cache if none is configured.
+     * @return  The cache.
+     */
+    public static <X, Y> FunctionCache<X, Y> create() {
+        String policy = System.getProperty(POLICY_PROPERTY);
+        String maxSize = System.getProperty(MAX_SIZE_PROPERTY);
+        try {
+            return new FunctionCache<X, Y>(
+                    policy != null ? CachePolicy.valueOf(policy.trim().toUpperCase().replace('-', '_')) : CachePolicy.UNBOUNDED,
+                    maxSize != null ? Integer.parseInt(maxSize.trim()) : DEFAULT_MAX_SIZE);
+        } catch (IllegalArgumentException e) {
+            throw new SundrException("Invalid cache configuration. " + POLICY_PROPERTY + ":" + policy + " " + MAX_SIZE_PROPERTY + ":" + maxSize + ".", e);
+        }
+    }
+
+    /**
+     * Marks the start of an annotation processing round on the current thread.
+     * Caches with the {@link CachePolicy#PER_ROUND} policy keep their entries per round, so that compilations running on other threads
+     * keep theirs. The entries of the previous round of the current thread are dropped the first time a new round is seen,
+     * along with the entries added by threads that had no round bound.
+     * @param round The object that identifies the round (e.g. the RoundEnvironment).
+     */
+    public static void nextRound(Object round) {
+        Object previous = currentRound();
+        if (previous == round) {
+            return;
+        }
+        CURRENT_ROUND.set(new WeakReference<Object>(round));
+        for (FunctionCache cache : getCaches()) {
+            if (cache.rounds != null) {
+                cache.endRound(previous);
+            }
+        }
+    }
+
+    /**
+     * @return The round bound to the current thread, or null if no round is bound.
+     */
+    public static Object currentRound() {
+        WeakReference<Object> current = CURRENT_ROUND.get();
+        return current != null ? current.get() : null;
+    }
+
+    /**
+     * Binds a round to the current thread, without ending the round previously bound to it.
+     * Threads that work on behalf of a round, should bind it with the value of {@link #currentRound()} on the thread of the round,
+     * and restore the previous round when done.
+     * @param round The round or null to unbind it.
+     * @return      The round previously bound to the current thread.
+     */
+    public static Object bindRound(Object round) {
+        Object previous = currentRound();
+        if (round != null) {
+            CURRENT_ROUND.set(new WeakReference<Object>(round));
+        } else {
+            CURRENT_ROUND.remove();
+        }
+        return previous;
+    }
+
+    private void endRound(Object round) {
+        Map<X, Y> roundEntries = round != null ? rounds.remove(round) : null;
+        if (roundEntries != null) {
+            cleared.addAndGet(roundEntries.size());
+        }
+        cleared.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    /**
+     * @return The entries of the current round for caches with the {@link CachePolicy#PER_ROUND} policy, or all entries otherwise.
+     */
+    private Map<X, Y> entries() {
+        Object round = rounds != null ? currentRound() : null;
+        if (round == null) {
+            return entries;
+        }
+        synchronized (rounds) {
+            Map<X, Y> roundEntries = rounds.get(round);
+            if (roundEntries == null) {
+                roundEntries = new ConcurrentHashMap<X, Y>();
+                rounds.put(round, roundEntries);
+            }
+            return roundEntries;
+        }
+    }
+
+    /**
+     * @return All caches that are currently in use.
+     */
+    public static List<FunctionCache> getCaches() {
+        synchronized (CACHES) {
+            return new ArrayList<FunctionCache>(CACHES.keySet());
+        }
+    }
+
+    /**
+     * Clears all caches that are currently in use.
+     */
+    public static void clearAll() {
+        for (FunctionCache cache : getCaches()) {
+            cache.clear();
+        }
+    }
+
+    public Y get(X key) {
+        Y value = key != null ? entries().get(key) : null;
+        if (value != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return value;
+    }
+
+    /**
+     * Looks up a value without counting a hit or a miss.
+     */
+    Y peek(X key) {
+        return key != null ? entries().get(key) : null;
+    }
+
+    public void put(X key, Y value) {
+        if (key != null && value != null && entries().put(key, value) == null) {
+            added.incrementAndGet();
+        }
+    }
+
+    /**
+     * Registers the computation of the value of the specified key, unless another one is already in progress.
+     * @param key           The key.
+     * @param computation   The computation of the current thread.
+     * @return              The computation already in progress, or null if the specified one has been registered.
+     */
+    Computation<Y> beginComputation(X key, Computation<Y> computation) {
+        return computations.putIfAbsent(key, computation);
+    }
+
+    /**
+     * Completes a computation registered by {@link #beginComputation(Object)}, releasing the threads that wait for it.
+     * @param key           The key.
+     * @param computation   The computation.
+     * @param value         The value or null, if it could not be computed.
+     */
+    void endComputation(X key, Computation<Y> computation, Y value) {
+        computations.remove(key, computation);
+        computation.complete(value);
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            cleared.addAndGet(entries.size());
+            entries.clear();
+        }
+        if (rounds != null) {
+            synchronized (rounds) {
+                for (Map<X, Y> roundEntries : rounds.values()) {
+                    cleared.addAndGet(roundEntries.size());
+                }
+                rounds.clear();
+            }
+        }
+    }
+
+    /**
+     * @return The number of entries, or the number of entries of the current round for caches with the {@link CachePolicy#PER_ROUND} policy.
+     */
+    public int size() {
+        return entries().size();
+    }
+
+    public CachePolicy getPolicy() {
+        return policy;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of entries that have been evicted.
+     * For weak keys this is the number of entries dropped by the garbage collector, as far as it can be observed.
+     * @return  The number of evictions.
+     */
+    public long getEvictions() {
+        if (policy == CachePolicy.WEAK_KEYS) {
+            synchronized (entries) {
+                return Math.max(0, added.get() - cleared.get() - entries.size());
+            }
+        }
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return "FunctionCache{policy=" + policy + ", size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions() + "}";
+    }
+
+    /**
+     * The computation of a value by a single thread, that other threads can wait for.
+     */
+    static final class Computation<Y> {
+
+        //The computation each waiting thread waits for, by the thread that owns it.
+        private static final Map<Thread, Thread> WAITING_FOR = new HashMap<Thread, Thread>();
+
+        private final Thread owner = Thread.currentThread();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Y value;
+
+        private void complete(Y value) {
+            this.value = value;
+            done.countDown();
+        }
+
+        /**
+         * Waits for the owner to compute the value.
+         * Returns immediately if the owner is the current thread, or is waiting for it directly or through other threads,
+         * as the wait would never end.
+         * @return  The value, or null if it has not been computed.
+         */
+        Y await() {
+            Thread current = Thread.currentThread();
+            synchronized (WAITING_FOR) {
+                for (Thread thread = owner; thread != null; thread = WAITING_FOR.get(thread)) {
+                    if (thread == current) {
+                        return null;
+                    }
+                }
+                WAITING_FOR.put(current, owner);
+            }
+            try {
+                done.await();
+                return value;
+            } catch (InterruptedException e) {
+                current.interrupt();
+                return null;
+            } finally {
+                synchronized (WAITING_FOR) {
+                    WAITING_FOR.remove(current);
+                }
+            }
+        }
+    }
+}
@@ -16,61 +16,107 @@
 
 package io.sundr;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Stack;
 
+/**
+ * Wraps a {@link Function} with optional caching and protection against deep recursion.
+ * No lock is held while the wrapped function is called. A thread that misses the cache waits for a thread that is already computing
+ * the same item, unless that thread is waiting for it in turn, in which case both compute it. The recursion level and nesting depth
+ * are tracked per thread.
+ */
 public class FunctionFactory<X,Y> implements Function<X,Y> {
 
-    private final Map<X,Y> cache;
+    private final FunctionCache<X,Y> cache;
     private final Function<X,Y> function;
     private final Function<X,Y> fallback;
     private final Function<X, Boolean> fallbackPredicate;
     private final int maximumRecursionLevel;
     private final int maximumNestingDepth;
 
+    private final ThreadLocal<Map<X, Integer>> recursionLevels;
 
-    private final Stack<X> ownStack;
-    private static final Stack globalStack = new Stack();
+    private static final ThreadLocal<int[]> NESTING_DEPTH = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
 
-    public FunctionFactory(Map<X, Y> cache, Function<X, Y> function, Function<X, Y> fallback, Function<X, Boolean> fallbackPredicate, int maximumRecursionLevel, int maximumNestingDepth, Stack<X> ownStack) {
+    public FunctionFactory(FunctionCache<X, Y> cache, Function<X, Y> function, Function<X, Y> fallback, Function<X, Boolean> fallbackPredicate, int maximumRecursionLevel, int maximumNestingDepth, ThreadLocal<Map<X, Integer>> recursionLevels) {
         this.cache = cache;
         this.function = function;
         this.fallback = fallback;
         this.fallbackPredicate = fallbackPredicate;
         this.maximumRecursionLevel = maximumRecursionLevel;
         this.maximumNestingDepth = maximumNestingDepth;
-        this.ownStack = ownStack;
+        this.recursionLevels = recursionLevels;
+    }
+
+    /**
+     * @deprecated The stack is no longer used, the recursion level is tracked per thread and shared by the copies of the factory.
+     */
+    @Deprecated
+    public FunctionFactory(Map<X, Y> cache, Function<X, Y> function, Function<X, Y> fallback, Function<X, Boolean> fallbackPredicate, int maximumRecursionLevel, int maximumNestingDepth, Stack<X> ownStack) {
+        this(cache != null ? new FunctionCache<X, Y>(cache) : null, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, FunctionFactory.<X>newRecursionLevels());
     }
 
 
     public Y apply(X item) {
+        if (cache == null || item == null) {
+            return compute(item);
+        }
+
+        Y result = cache.get(item);
+        if (result != null) {
+            return result;
+        }
+
+        FunctionCache.Computation<Y> computation = new FunctionCache.Computation<Y>();
+        FunctionCache.Computation<Y> inProgress = cache.beginComputation(item, computation);
+        if (inProgress != null) {
+            result = inProgress.await();
+            return result != null ? result : compute(item);
+        }
+
+        try {
+            //Another thread may have cached the result before we registered the computation.
+            result = cache.peek(item);
+            return result != null ? result : compute(item);
+        } finally {
+            //Only share cached results, a fallback result depends on the recursion level of the current thread.
+            cache.endComputation(item, computation, cache.peek(item));
+        }
+    }
+
+    private Y compute(X item) {
         Y result;
-        synchronized (function) {
-            ownStack.push(item);
-            globalStack.push(item);
-            try {
-                result = cache != null ? cache.get(item) : null;
-                if (result == null) {
-                    int recursionLevel = ownStack != null ? Collections.frequency(ownStack, item) : 0;
-                    int nestingDepth = globalStack.size();
-                    boolean recursionLevelExceeded = recursionLevel > maximumRecursionLevel && maximumRecursionLevel > 0;
-                    boolean nestringDeptExceeded =nestingDepth > maximumNestingDepth && maximumNestingDepth > 0;
-                    boolean predicateMatched = fallbackPredicate != null && fallbackPredicate.apply(item);
-                    if ((recursionLevelExceeded || nestringDeptExceeded || predicateMatched) && fallback != null) {
-                        result = fallback.apply(item);
-                    }  else {
-                        result = function.apply(item);
-                        cacheIfEnabled(item, result);
-                    }
-                }
-            } finally {
-                ownStack.pop();
-                globalStack.pop();
+        Map<X, Integer> levels = recursionLevels.get();
+        int[] nestingDepth = NESTING_DEPTH.get();
+        Integer previousLevel = levels.get(item);
+        int recursionLevel = previousLevel != null ? previousLevel + 1 : 1;
+        levels.put(item, recursionLevel);
+        nestingDepth[0]++;
+        try {
+            boolean recursionLevelExceeded = recursionLevel > maximumRecursionLevel && maximumRecursionLevel > 0;
+            boolean nestringDeptExceeded = nestingDepth[0] > maximumNestingDepth && maximumNestingDepth > 0;
+            boolean predicateMatched = fallbackPredicate != null && fallbackPredicate.apply(item);
+            if ((recursionLevelExceeded || nestringDeptExceeded || predicateMatched) && fallback != null) {
+                result = fallback.apply(item);
+            }  else {
+                result = function.apply(item);
+                cacheIfEnabled(item, result);
+            }
+        } finally {
+            nestingDepth[0]--;
+            if (previousLevel != null) {
+                levels.put(item, previousLevel);
+            } else {
+                levels.remove(item);
             }
-            return result;
         }
+        return result;
     }
 
     private void cacheIfEnabled(X item, Y result) {
@@ -79,28 +125,48 @@ public class FunctionFactory<X,Y> implements Function<X,Y> {
         }
     }
 
+    private static <X> ThreadLocal<Map<X, Integer>> newRecursionLevels() {
+        return new ThreadLocal<Map<X, Integer>>() {
+            @Override
+            protected Map<X, Integer> initialValue() {
+                return new HashMap<X, Integer>();
+            }
+        };
+    }
+
 
     public static <X, Y> FunctionFactory<X, Y> cache(Function<X, Y> function) {
-        return new FunctionFactory<X, Y>(new HashMap<X, Y>(), function, null, null, 0, 0, new Stack<X>());
+        return new FunctionFactory<X, Y>(FunctionCache.<X, Y>create(), function, null, null, 0, 0, FunctionFactory.<X>newRecursionLevels());
+    }
+
+    public static <X, Y> FunctionFactory<X, Y> cache(Function<X, Y> function, CachePolicy policy, int maxSize) {
+        return new FunctionFactory<X, Y>(new FunctionCache<X, Y>(policy, maxSize), function, null, null, 0, 0, FunctionFactory.<X>newRecursionLevels());
     }
 
     public static <X, Y> FunctionFactory<X, Y> wrap(Function<X, Y> function) {
-        return new FunctionFactory<X, Y>(null, function, null, null, 0, 0, new Stack<X>());
+        return new FunctionFactory<X, Y>(null, function, null, null, 0, 0, FunctionFactory.<X>newRecursionLevels());
     }
 
     public FunctionFactory<X,Y> withFallback(Function<X,Y> fallback) {
-        return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, ownStack);
+        return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, recursionLevels);
     }
 
     public FunctionFactory<X,Y> withMaximumRecursionLevel(int maximumRecursionLevel) {
-        return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, ownStack);
+        return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, recursionLevels);
     }
 
     public FunctionFactory<X,Y> withMaximumNestingDepth(int maximumNestingDepth) {
-        return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, ownStack);
+        return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, recursionLevels);
+    }
+
+    /**
+     * @return The cache of the function or null if the function is not cached.
+     */
+    public FunctionCache<X, Y> getCache() {
+        return cache;
     }
 
     public FunctionFactory<X,Y> withFallbackPredicate(Function<X,Boolean> fallbackPredicate) {
-        return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, ownStack);
+        return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, recursionLevels);
     }
 }
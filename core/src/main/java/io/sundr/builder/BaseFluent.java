@@ -18,6 +18,8 @@ package io.sundr.builder;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -26,7 +28,32 @@ public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F>
 
     private static final String VISIT = "visit";
 
-    public final List<Visitable> _visitables = new ArrayList<Visitable>();
+    private static final ClassCache<Class> VISIT_METHOD_TYPES = new ClassCache<Class>(true) {
+        protected Class computeValue(Class type) {
+            return getVisitMethodType(type);
+        }
+    };
+
+    public final List<Visitable> _visitables = new VisitableRegistry();
+
+    /**
+     * Removes the first element of the collection that is equal to the specified item, along with the removed element from {@link #_visitables}.
+     * Visitables are tracked by identity, so this is needed when the item is only equal to the element (e.g. a builder created from the same object).
+     * @param collection    The collection to remove the item from.
+     * @param item          The item to remove.
+     * @return              True if an element was removed.
+     */
+    protected <T> boolean _removeVisitable(Collection<T> collection, Object item) {
+        for (Iterator<T> iterator = collection.iterator(); iterator.hasNext();) {
+            T next = iterator.next();
+            if (item == null ? next == null : item.equals(next)) {
+                iterator.remove();
+                _visitables.remove(next);
+                return true;
+            }
+        }
+        return false;
+    }
 
     public static <T> ArrayList<T> build(List<? extends Builder<? extends T>> list) {
         ArrayList<T> result = new ArrayList<T>();
@@ -63,7 +90,7 @@ public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F>
     }
 
 
-    private static <V, F> Boolean canVisit(V visitor, F fluent) {
+    static <V, F> Boolean canVisit(V visitor, F fluent) {
 
 
         if (visitor instanceof TypedVisitor) {
@@ -76,9 +103,8 @@ public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F>
             PathAwareTypedVisitor pathAwareTypedVisitor = (PathAwareTypedVisitor) visitor;
             Class parentType = pathAwareTypedVisitor.getParentType();
             Class actaulParentType = pathAwareTypedVisitor.getActualParentType();
-            if (!parentType.isAssignableFrom(actaulParentType)) {
-                return false;
-            }
+            //Path aware visitors are checked by type and parent type only.
+            return parentType.isAssignableFrom(actaulParentType);
         }
 
         return hasCompatibleVisitMethod(visitor, fluent);
@@ -86,6 +112,7 @@ public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F>
 
     /**
      * Checks if the specified visitor has a visit method compatible with the specified fluent.
+     * The visit method lookup is done once per visitor class and cached.
      * @param visitor
      * @param fluent
      * @param <V>
@@ -93,18 +120,23 @@ public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F>
      * @return
      */
     private static <V,F> Boolean hasCompatibleVisitMethod(V visitor, F fluent) {
-        for (Method method : visitor.getClass().getDeclaredMethods()) {
+        Class visitorType = VISIT_METHOD_TYPES.get(visitor.getClass());
+        return visitorType != null && visitorType.isAssignableFrom(fluent.getClass());
+    }
+
+    /**
+     * Finds the argument type of the visit method declared by the specified visitor class.
+     * @param visitorClass
+     * @return The argument type or null if no visit method has been found.
+     */
+    static Class getVisitMethodType(Class visitorClass) {
+        for (Method method : visitorClass.getDeclaredMethods()) {
             if (!method.getName().equals(VISIT) || method.getParameterTypes().length != 1) {
                 continue;
             }
-            Class visitorType = method.getParameterTypes()[0];
-            if (visitorType.isAssignableFrom(fluent.getClass())) {
-                return true;
-            } else {
-                return false;
-            }
+            return method.getParameterTypes()[0];
         }
-        return false;
+        return null;
     }
 
     public F accept(Visitor visitor) {
@@ -120,14 +152,35 @@ public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F>
             visitable.accept(visitor);
         }
 
-        if (canVisit(visitor, this)) {
+        if (isVisitableBy(visitor)) {
             visitor.visit(this);
         }
         return (F) this;
     }
 
+    /**
+     * Checks if the specified visitor should visit this fluent.
+     * Builders generated with visitor dispatch enabled override this to use their {@link VisitorDispatcher}.
+     * @param visitor
+     * @return
+     */
+    protected boolean isVisitableBy(Visitor visitor) {
+        return canVisit(visitor, this);
+    }
 
+
+    /**
+     * Accepts a path aware visitor.
+     * The visitor keeps a single path that is updated as we descend and return, so no copies are created per node.
+     * @param pathAwareTypedVisitor
+     * @return
+     */
     private F acceptPathAware(PathAwareTypedVisitor pathAwareTypedVisitor) {
-        return acceptInternal(pathAwareTypedVisitor.next(this));
+        pathAwareTypedVisitor.push(this);
+        try {
+            return acceptInternal(pathAwareTypedVisitor);
+        } finally {
+            pathAwareTypedVisitor.pop();
+        }
     }
 }
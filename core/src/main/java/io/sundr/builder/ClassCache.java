@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.builder;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Keeps a value per class, that is computed on first use.
+ * Classes are weakly referenced, so that they can still be unloaded.
+ * Values that refer to classes (and thus to their class loader) should be weakly referenced too, or the entry will never be released.
+ * Lookups read an immutable table without locking. Updates copy the table, dropping unloaded classes, and publish the copy.
+ * Null values are cached too, so that classes without a value are not computed again on every lookup.
+ * @param <V>   The type of the value.
+ */
+abstract class ClassCache<V> {
+
+    private static final Object NULL = new Object();
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Open addressing table of weakly referenced classes (even slots) and their values (odd slots).
+     */
+    private volatile Object[] table = new Object[2 * INITIAL_CAPACITY];
+    private final boolean weakValues;
+
+    ClassCache(boolean weakValues) {
+        this.weakValues = weakValues;
+    }
+
+    /**
+     * Computes the value of the specified class.
+     * @param type  The class.
+     * @return      The value or null.
+     */
+    protected abstract V computeValue(Class type);
+
+    public V get(Class type) {
+        Object value = lookup(type);
+        if (value == null || isCleared(value)) {
+            V computed = computeValue(type);
+            update(type, computed);
+            return computed;
+        }
+        return unwrap(value);
+    }
+
+    /**
+     * @param type  The class.
+     * @return      The value of the specified class or null if it hasn't been computed.
+     */
+    public V getIfPresent(Class type) {
+        return unwrap(lookup(type));
+    }
+
+    private Object lookup(Class type) {
+        Object[] table = this.table;
+        int mask = table.length - 2;
+        int index = indexOf(type, mask);
+        while (table[index] != null) {
+            if (((WeakReference) table[index]).get() == type) {
+                return table[index + 1];
+            }
+            index = (index + 2) & mask;
+        }
+        return null;
+    }
+
+    private synchronized void update(Class type, V value) {
+        Object wrapped = value == null ? NULL : weakValues ? new WeakReference<V>(value) : value;
+        Object[] current = this.table;
+        int live = 1;
+        for (int i = 0; i < current.length; i += 2) {
+            if (current[i] != null && ((WeakReference) current[i]).get() != null) {
+                live++;
+            }
+        }
+        int length = 2 * INITIAL_CAPACITY;
+        while (length < 4 * live) {
+            length <<= 1;
+        }
+
+        Object[] updated = new Object[length];
+        for (int i = 0; i < current.length; i += 2) {
+            if (current[i] == null) {
+                continue;
+            }
+            Class key = (Class) ((WeakReference) current[i]).get();
+            if (key != null && key != type) {
+                insert(updated, current[i], key, current[i + 1]);
+            }
+        }
+        insert(updated, new WeakReference<Class>(type), type, wrapped);
+        this.table = updated;
+    }
+
+    private static void insert(Object[] table, Object reference, Class key, Object value) {
+        int mask = table.length - 2;
+        int index = indexOf(key, mask);
+        while (table[index] != null) {
+            index = (index + 2) & mask;
+        }
+        table[index] = reference;
+        table[index + 1] = value;
+    }
+
+    private static int indexOf(Class type, int mask) {
+        int h = System.identityHashCode(type);
+        return ((h ^ (h >>> 16)) << 1) & mask;
+    }
+
+    private static boolean isCleared(Object value) {
+        return value instanceof WeakReference && ((WeakReference) value).get() == null;
+    }
+
+    private V unwrap(Object value) {
+        if (value == NULL) {
+            return null;
+        }
+        return (V) (value instanceof WeakReference ? ((WeakReference) value).get() : value);
+    }
+}
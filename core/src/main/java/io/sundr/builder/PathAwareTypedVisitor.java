@@ -23,6 +23,12 @@ import java.util.List;
 
 public class PathAwareTypedVisitor<V,P> extends TypedVisitor<V> {
 
+    private static final ClassCache<Class> PARENT_TYPES = new ClassCache<Class>(true) {
+        protected Class computeValue(Class type) {
+            return getTypeArguments(PathAwareTypedVisitor.class, (Class<? extends PathAwareTypedVisitor>) type).get(1);
+        }
+    };
+
     private List<Object> path;
     private final PathAwareTypedVisitor<V,P> delegate;
     private final Class<P> parentType;
@@ -30,19 +36,19 @@ public class PathAwareTypedVisitor<V,P> extends TypedVisitor<V> {
     public PathAwareTypedVisitor() {
         this.path = new ArrayList<Object>();
         this.delegate = this;
-        this.parentType = (Class<P>) getTypeArguments(PathAwareTypedVisitor.class, getClass()).get(1);
+        this.parentType = (Class<P>) PARENT_TYPES.get(getClass());
     }
 
     public PathAwareTypedVisitor(List<Object> path) {
         this.path = path;
         this.delegate = this;
-        this.parentType = (Class<P>) getTypeArguments(PathAwareTypedVisitor.class, getClass()).get(1);
+        this.parentType = (Class<P>) PARENT_TYPES.get(getClass());
     }
 
     public PathAwareTypedVisitor(List<Object> path, PathAwareTypedVisitor<V,P> delegate) {
         this.path = path;
         this.delegate = delegate;
-        this.parentType = (Class<P>) getTypeArguments(PathAwareTypedVisitor.class, delegate.getClass()).get(1);
+        this.parentType = (Class<P>) PARENT_TYPES.get(delegate.getClass());
     }
 
 
@@ -58,6 +64,14 @@ public class PathAwareTypedVisitor<V,P> extends TypedVisitor<V> {
         delegate.visit(element);
     }
 
+    void push(Object item) {
+        path.add(item);
+    }
+
+    void pop() {
+        path.remove(path.size() - 1);
+    }
+
     public P getParent() {
         int size = path.size();
         int parentIndex = size - 2;
@@ -29,8 +29,18 @@ import java.util.Map;
 
 public abstract class TypedVisitor<V> implements Visitor<V> {
 
+    private static final ClassCache<Class> TYPES = new ClassCache<Class>(true) {
+        protected Class computeValue(Class type) {
+            return getTypeArguments(TypedVisitor.class, (Class<? extends TypedVisitor>) type).get(0);
+        }
+    };
+
     public Class<V> getType() {
-        return (Class<V>) getTypeArguments(TypedVisitor.class, getClass()).get(0);
+        return (Class<V>) TYPES.get(getClass());
+    }
+
+    static Class typeOf(Class<? extends TypedVisitor> visitorClass) {
+        return TYPES.get(visitorClass);
     }
 
     /**
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import javax.validation.Validation;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+
+/**
+ * Holds the {@link Validator} shared by the builders that have validation enabled.
+ * The default validator is created on first use. If no validation provider is available, validation is skipped.
+ */
+public class ValidatorHolder {
+
+    private static volatile Validator validator;
+    private static volatile boolean unavailable;
+
+    public static Validator getValidator() {
+        Validator result = validator;
+        if (result != null || unavailable) {
+            return result;
+        }
+        synchronized (ValidatorHolder.class) {
+            if (validator == null && !unavailable) {
+                try {
+                    validator = Validation.buildDefaultValidatorFactory().getValidator();
+                } catch (ValidationException e) {
+                    unavailable = true;
+                }
+            }
+            return validator;
+        }
+    }
+
+    /**
+     * Sets the validator to use instead of the default one.
+     * @param validator The validator, or null to use the default one.
+     */
+    public static void setValidator(Validator validator) {
+        synchronized (ValidatorHolder.class) {
+            ValidatorHolder.validator = validator;
+            ValidatorHolder.unavailable = false;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An insertion ordered list of the {@link Visitable} children of a fluent.
+ * Like {@link IdentityHashMap}, this class intentionally compares elements by identity instead of equality:
+ * an element is added at most once, and {@link #contains(Object)}, {@link #remove(Object)} and {@link #removeAll(Collection)}
+ * only match the very same instances. This way adding and removing a child doesn't need to scan or compare builders,
+ * and removing a child never drops an other, equal child of a different property.
+ * Removed elements leave an empty slot behind, which is reclaimed on the next addition once empty slots outnumber the elements.
+ * Access by index skips the empty slots, so it is only constant time while there are none.
+ */
+public class VisitableRegistry extends AbstractList<Visitable> {
+
+    private final List<Visitable> items = new ArrayList<Visitable>();
+    private final Map<Visitable, Integer> positions = new IdentityHashMap<Visitable, Integer>();
+
+    @Override
+    public boolean add(Visitable visitable) {
+        if (visitable == null || positions.containsKey(visitable)) {
+            return false;
+        }
+        if (items.size() > 2 * positions.size()) {
+            compact();
+        }
+        positions.put(visitable, items.size());
+        items.add(visitable);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, Visitable visitable) {
+        checkNew(visitable);
+        int slot = index == size() ? items.size() : slotOf(index);
+        items.add(slot, visitable);
+        for (int i = slot; i < items.size(); i++) {
+            if (items.get(i) != null) {
+                positions.put(items.get(i), i);
+            }
+        }
+        modCount++;
+    }
+
+    @Override
+    public Visitable get(int index) {
+        return items.get(slotOf(index));
+    }
+
+    @Override
+    public Visitable set(int index, Visitable visitable) {
+        int slot = slotOf(index);
+        Visitable previous = items.get(slot);
+        if (previous != visitable) {
+            checkNew(visitable);
+            items.set(slot, visitable);
+            positions.remove(previous);
+            positions.put(visitable, slot);
+        }
+        return previous;
+    }
+
+    @Override
+    public Visitable remove(int index) {
+        int slot = slotOf(index);
+        Visitable removed = items.set(slot, null);
+        positions.remove(removed);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        Integer position = positions.remove(o);
+        if (position == null) {
+            return false;
+        }
+        items.set(position, null);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean modified = false;
+        for (Object o : c) {
+            modified |= remove(o);
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return positions.containsKey(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        Integer slot = positions.get(o);
+        if (slot == null) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < slot; i++) {
+            if (items.get(i) != null) {
+                index++;
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public int size() {
+        return positions.size();
+    }
+
+    @Override
+    public void clear() {
+        items.clear();
+        positions.clear();
+        modCount++;
+    }
+
+    @Override
+    public Iterator<Visitable> iterator() {
+        return new Iterator<Visitable>() {
+            private int expectedModCount = modCount;
+            private int cursor;
+            private int lastIndex = -1;
+
+            public boolean hasNext() {
+                while (cursor < items.size() && items.get(cursor) == null) {
+                    cursor++;
+                }
+                return cursor < items.size();
+            }
+
+            public Visitable next() {
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                lastIndex = cursor++;
+                return items.get(lastIndex);
+            }
+
+            public void remove() {
+                if (lastIndex < 0) {
+                    throw new IllegalStateException();
+                }
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                positions.remove(items.get(lastIndex));
+                items.set(lastIndex, null);
+                lastIndex = -1;
+                expectedModCount = ++modCount;
+            }
+        };
+    }
+
+    private void checkNew(Visitable visitable) {
+        if (visitable == null) {
+            throw new NullPointerException();
+        }
+        if (positions.containsKey(visitable)) {
+            throw new IllegalArgumentException("Visitable has already been added.");
+        }
+    }
+
+    /**
+     * Finds the slot of the element at the specified index, skipping empty slots.
+     */
+    private int slotOf(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (items.size() == positions.size()) {
+            return index;
+        }
+        int remaining = index;
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i) != null && remaining-- == 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private void compact() {
+        int index = 0;
+        for (int i = 0; i < items.size(); i++) {
+            Visitable visitable = items.get(i);
+            if (visitable != null) {
+                items.set(index, visitable);
+                positions.put(visitable, index);
+                index++;
+            }
+        }
+        items.subList(index, items.size()).clear();
+    }
+}
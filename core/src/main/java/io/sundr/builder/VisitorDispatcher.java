@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+/**
+ * Decides which visitors can visit a fluent, using the type id that was assigned to the fluent at compile time.
+ * Implementations are generated per package and map each id to a builder class.
+ * For each visitor class a table with one entry per id is created on first use, so visiting a node is a single lookup.
+ * Path aware visitors are checked by their parent type, so they are delegated to {@link BaseFluent}.
+ */
+public abstract class VisitorDispatcher {
+
+    private final ClassCache<boolean[]> tables = new ClassCache<boolean[]>(false) {
+        protected boolean[] computeValue(Class type) {
+            return createTable(type);
+        }
+    };
+
+    /**
+     * @return The number of type ids known to the dispatcher.
+     */
+    public abstract int size();
+
+    /**
+     * @param typeId    The type id.
+     * @return          The class that corresponds to the specified type id.
+     */
+    public abstract Class typeOf(int typeId);
+
+    /**
+     * @param visitorClass  The visitor class.
+     * @return              True if a table has been created for the specified visitor class.
+     */
+    public boolean hasTable(Class visitorClass) {
+        return tables.getIfPresent(visitorClass) != null;
+    }
+
+    public boolean canVisit(Visitor visitor, Object fluent, int typeId) {
+        boolean[] table = tables.get(visitor.getClass());
+        if (table != null && typeId < table.length) {
+            return table[typeId];
+        }
+        return BaseFluent.canVisit(visitor, fluent);
+    }
+
+    private boolean[] createTable(Class visitorClass) {
+        if (PathAwareTypedVisitor.class.isAssignableFrom(visitorClass)) {
+            return null;
+        }
+
+        Class visitType = BaseFluent.getVisitMethodType(visitorClass);
+        Class type = TypedVisitor.class.isAssignableFrom(visitorClass) ? TypedVisitor.typeOf(visitorClass) : null;
+        boolean[] table = new boolean[size()];
+        for (int i = 0; i < table.length; i++) {
+            Class candidate = typeOf(i);
+            table[i] = visitType != null && visitType.isAssignableFrom(candidate)
+                    && (type == null || type.isAssignableFrom(candidate));
+        }
+        return table;
+    }
+}
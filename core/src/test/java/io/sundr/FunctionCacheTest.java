@@ -0,0 +1,149 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FunctionCacheTest {
+
+    private static final Function<Integer, String> TO_STRING = new Function<Integer, String>() {
+        public String apply(Integer item) {
+            return String.valueOf(item);
+        }
+    };
+
+    @Test
+    public void testHitsAndMisses() {
+        FunctionFactory<Integer, String> function = FunctionFactory.cache(TO_STRING, CachePolicy.UNBOUNDED, 0);
+        function.apply(1);
+        function.apply(1);
+        function.apply(2);
+
+        FunctionCache<Integer, String> cache = function.getCache();
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(2, cache.getMisses());
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testLruEviction() {
+        FunctionFactory<Integer, String> function = FunctionFactory.cache(TO_STRING, CachePolicy.LRU, 2);
+        function.apply(1);
+        function.apply(2);
+        function.apply(1);
+        function.apply(3);
+
+        FunctionCache<Integer, String> cache = function.getCache();
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getEvictions());
+        Assert.assertEquals("1", cache.get(1));
+        Assert.assertNull(cache.get(2));
+    }
+
+    @Test
+    public void testPerRoundReset() {
+        FunctionFactory<Integer, String> perRound = FunctionFactory.cache(TO_STRING, CachePolicy.PER_ROUND, 0);
+        FunctionFactory<Integer, String> unbounded = FunctionFactory.cache(TO_STRING, CachePolicy.UNBOUNDED, 0);
+        Object round = new Object();
+        FunctionCache.nextRound(round);
+        perRound.apply(1);
+        unbounded.apply(1);
+
+        FunctionCache.nextRound(round);
+        Assert.assertEquals(1, perRound.getCache().size());
+
+        FunctionCache.nextRound(new Object());
+        Assert.assertEquals(0, perRound.getCache().size());
+        Assert.assertEquals(1, unbounded.getCache().size());
+    }
+
+    @Test
+    public void testPerRoundIsKeptPerThread() throws Exception {
+        final FunctionFactory<Integer, String> perRound = FunctionFactory.cache(TO_STRING, CachePolicy.PER_ROUND, 0);
+        Object round = new Object();
+        FunctionCache.nextRound(round);
+        perRound.apply(1);
+
+        Thread other = new Thread(new Runnable() {
+            public void run() {
+                FunctionCache.nextRound(new Object());
+                perRound.apply(2);
+                FunctionCache.nextRound(new Object());
+            }
+        });
+        other.start();
+        other.join();
+
+        Assert.assertEquals(1, perRound.getCache().size());
+        Assert.assertEquals("1", perRound.getCache().get(1));
+        Assert.assertNull(perRound.getCache().get(2));
+        //Rounds are weakly referenced, keep ours until the end of the test.
+        FunctionCache.nextRound(round);
+    }
+
+    @Test
+    public void testPerRoundCanBeBoundToOtherThreads() throws Exception {
+        final FunctionFactory<Integer, String> perRound = FunctionFactory.cache(TO_STRING, CachePolicy.PER_ROUND, 0);
+        final Object round = new Object();
+        FunctionCache.nextRound(round);
+
+        final Object[] bound = new Object[1];
+        Thread worker = new Thread(new Runnable() {
+            public void run() {
+                Object previous = FunctionCache.bindRound(round);
+                try {
+                    bound[0] = FunctionCache.currentRound();
+                    perRound.apply(1);
+                } finally {
+                    FunctionCache.bindRound(previous);
+                }
+            }
+        });
+        worker.start();
+        worker.join();
+
+        Assert.assertSame(round, bound[0]);
+        Assert.assertEquals("1", perRound.getCache().get(1));
+
+        FunctionCache.nextRound(new Object());
+        Assert.assertEquals(0, perRound.getCache().size());
+    }
+
+    @Test
+    public void testPerRoundDropsEntriesAddedWithoutRound() throws Exception {
+        final FunctionFactory<Integer, String> perRound = FunctionFactory.cache(TO_STRING, CachePolicy.PER_ROUND, 0);
+        Thread worker = new Thread(new Runnable() {
+            public void run() {
+                perRound.apply(1);
+            }
+        });
+        worker.start();
+        worker.join();
+
+        Object previous = FunctionCache.bindRound(null);
+        try {
+            Assert.assertEquals("1", perRound.getCache().get(1));
+        } finally {
+            FunctionCache.bindRound(previous);
+        }
+
+        FunctionCache.nextRound(new Object());
+        FunctionCache.bindRound(null);
+        Assert.assertEquals(0, perRound.getCache().size());
+    }
+}
@@ -19,6 +19,16 @@ package io.sundr;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class FunctionFactoryTest
 {
 
@@ -33,6 +43,16 @@ public class FunctionFactoryTest
         }
     }).withMaximumRecursionLevel(10);
 
+    private static final Function<String, String> UNCACHED_TEST_FUNCTION = FunctionFactory.wrap(new Function<String, String>() {
+        public String apply(String item) {
+            return "R" + UNCACHED_TEST_FUNCTION.apply(item);
+        }
+    }).withFallback( new Function<String, String>() {
+        public String apply(String item) {
+            return "overflow";
+        }
+    }).withMaximumRecursionLevel(10);
+
 
     @Test
     public void testCachingWithOverflowProtection() {
@@ -43,4 +63,171 @@ public class FunctionFactoryTest
         result = TEST_FUNCTION.apply("");
         Assert.assertEquals(expectedResult, result);
     }
+
+    @Test
+    public void testCacheHitsDoNotWaitForMisses() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Function<String, String> function = FunctionFactory.cache(new Function<String, String>() {
+            public String apply(String item) {
+                if (item.equals("slow")) {
+                    started.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return "R" + item;
+            }
+        });
+        Assert.assertEquals("Rfast", function.apply("fast"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> slow = executor.submit(new Callable<String>() {
+                public String call() {
+                    return function.apply("slow");
+                }
+            });
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+            Future<String> fast = executor.submit(new Callable<String>() {
+                public String call() {
+                    return function.apply("fast");
+                }
+            });
+            Assert.assertEquals("Rfast", fast.get(10, TimeUnit.SECONDS));
+            release.countDown();
+            Assert.assertEquals("Rslow", slow.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMissesOfDifferentItemsRunConcurrently() throws Exception {
+        final CountDownLatch started = new CountDownLatch(2);
+        final Function<String, Boolean> function = FunctionFactory.cache(new Function<String, Boolean>() {
+            public Boolean apply(String item) {
+                started.countDown();
+                try {
+                    return started.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (final String item : new String[]{"a", "b"}) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    public Boolean call() {
+                        return function.apply(item);
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentMissesOfTheSameItemAreComputedOnce() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Function<String, Object> function = FunctionFactory.cache(new Function<String, Object>() {
+            public Object apply(String item) {
+                calls.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new Object();
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Callable<Object> call = new Callable<Object>() {
+                public Object call() {
+                    return function.apply("item");
+                }
+            };
+            Future<Object> first = executor.submit(call);
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+            Future<Object> second = executor.submit(call);
+            Thread.sleep(50);
+            release.countDown();
+            Assert.assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            Assert.assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMissesThatDependOnEachOtherDoNotDeadlock() throws Exception {
+        final CountDownLatch started = new CountDownLatch(2);
+        final Function<String, String>[] function = new Function[1];
+        function[0] = FunctionFactory.cache(new Function<String, String>() {
+            public String apply(String item) {
+                started.countDown();
+                try {
+                    started.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return item + function[0].apply(item.equals("a") ? "b" : "a");
+            }
+        }).withFallback(new Function<String, String>() {
+            public String apply(String item) {
+                return "";
+            }
+        }).withMaximumRecursionLevel(2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<String>> results = new ArrayList<Future<String>>();
+            for (final String item : new String[]{"a", "b"}) {
+                results.add(executor.submit(new Callable<String>() {
+                    public String call() {
+                        return function[0].apply(item);
+                    }
+                }));
+            }
+            Assert.assertTrue(results.get(0).get(10, TimeUnit.SECONDS).startsWith("a"));
+            Assert.assertTrue(results.get(1).get(10, TimeUnit.SECONDS).startsWith("b"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRecursionLevelIsTrackedPerThread() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String>[] results = new Future[4];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = executor.submit(new Callable<String>() {
+                    public String call() {
+                        return UNCACHED_TEST_FUNCTION.apply("");
+                    }
+                });
+            }
+            for (Future<String> result : results) {
+                Assert.assertEquals("RRRRRRRRRRoverflow", result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
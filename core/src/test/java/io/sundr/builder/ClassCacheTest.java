@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ClassCacheTest {
+
+    @Test
+    public void testNullValuesAreComputedOnce() {
+        final AtomicInteger computations = new AtomicInteger();
+        ClassCache<String> cache = new ClassCache<String>(false) {
+            protected String computeValue(Class type) {
+                computations.incrementAndGet();
+                return null;
+            }
+        };
+        Assert.assertNull(cache.getIfPresent(String.class));
+        Assert.assertNull(cache.get(String.class));
+        Assert.assertNull(cache.get(String.class));
+        Assert.assertNull(cache.getIfPresent(String.class));
+        Assert.assertEquals(1, computations.get());
+    }
+
+    @Test
+    public void testValuesAreKeptWhileTheTableGrows() {
+        ClassCache<String> cache = new ClassCache<String>(false) {
+            protected String computeValue(Class type) {
+                return type.getName();
+            }
+        };
+        List<Class> types = new ArrayList<Class>();
+        Class type = ArrayList.class;
+        while (type != null) {
+            types.add(type);
+            for (Class i : type.getInterfaces()) {
+                types.add(i);
+            }
+            type = type.getSuperclass();
+        }
+        types.add(String.class);
+        types.add(Integer.class);
+        types.add(Long.class);
+        types.add(Thread.class);
+        types.add(ClassCache.class);
+        types.add(ClassCacheTest.class);
+
+        for (Class t : types) {
+            Assert.assertEquals(t.getName(), cache.get(t));
+        }
+        for (Class t : types) {
+            Assert.assertEquals(t.getName(), cache.getIfPresent(t));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PathAwareTypedVisitorTest {
+
+    static class Parent extends BaseFluent<Parent> {
+    }
+
+    static class Child extends BaseFluent<Child> {
+    }
+
+    @Test
+    public void testParentAndPath() {
+        final Parent root = new Parent();
+        final Child first = new Child();
+        final Child second = new Child();
+        root._visitables.add(first);
+        root._visitables.add(second);
+
+        final List<Object> parents = new ArrayList<Object>();
+        final List<Integer> depths = new ArrayList<Integer>();
+        PathAwareTypedVisitor<Child, Parent> visitor = new PathAwareTypedVisitor<Child, Parent>() {
+            @Override
+            public void visit(Child element) {
+                parents.add(getParent());
+                depths.add(getPath().size());
+                Assert.assertSame(element, getPath().get(getPath().size() - 1));
+            }
+        };
+
+        root.accept(visitor);
+        Assert.assertEquals(2, parents.size());
+        Assert.assertSame(root, parents.get(0));
+        Assert.assertSame(root, parents.get(1));
+        Assert.assertEquals(Integer.valueOf(2), depths.get(0));
+        Assert.assertEquals(Integer.valueOf(2), depths.get(1));
+
+        //The path should be unwound after each traversal, so the visitor can be reused.
+        Assert.assertTrue(visitor.getPath().isEmpty());
+        root.accept(visitor);
+        Assert.assertEquals(4, parents.size());
+        Assert.assertEquals(Integer.valueOf(2), depths.get(3));
+    }
+
+    @Test
+    public void testParentTypeMismatch() {
+        final Child root = new Child();
+        root._visitables.add(new Child());
+
+        final List<Child> visited = new ArrayList<Child>();
+        root.accept(new PathAwareTypedVisitor<Child, Parent>() {
+            @Override
+            public void visit(Child element) {
+                visited.add(element);
+            }
+        });
+        Assert.assertTrue(visited.isEmpty());
+    }
+}
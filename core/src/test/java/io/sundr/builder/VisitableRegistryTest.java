@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class VisitableRegistryTest {
+
+    static class Item extends BaseFluent<Item> {
+        private final String name;
+
+        Item(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Item && ((Item) o).name.equals(name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+
+    @Test
+    public void testOrderIsKeptAcrossRemovals() {
+        VisitableRegistry registry = new VisitableRegistry();
+        List<Item> items = new ArrayList<Item>();
+        for (int i = 0; i < 10; i++) {
+            Item item = new Item("item" + i);
+            items.add(item);
+            registry.add(item);
+        }
+        for (int i = 0; i < 10; i += 2) {
+            registry.remove(items.get(i));
+        }
+        Item last = new Item("last");
+        registry.add(last);
+
+        Assert.assertEquals(6, registry.size());
+        Assert.assertEquals(Arrays.asList(items.get(1), items.get(3), items.get(5), items.get(7), items.get(9), last), new ArrayList<Visitable>(registry));
+    }
+
+    @Test
+    public void testIdentity() {
+        VisitableRegistry registry = new VisitableRegistry();
+        Item first = new Item("same");
+        Item second = new Item("same");
+        Assert.assertTrue(registry.add(first));
+        Assert.assertTrue(registry.add(second));
+        Assert.assertFalse(registry.add(first));
+        Assert.assertEquals(2, registry.size());
+
+        Assert.assertFalse(registry.remove(new Item("same")));
+        Assert.assertTrue(registry.remove(second));
+        Assert.assertTrue(registry.contains(first));
+        Assert.assertFalse(registry.contains(second));
+    }
+
+    @Test
+    public void testIndexAccessSkipsRemovedElements() {
+        VisitableRegistry registry = new VisitableRegistry();
+        Item a = new Item("a");
+        Item b = new Item("b");
+        Item c = new Item("c");
+        registry.add(a);
+        registry.add(b);
+        registry.add(c);
+        registry.remove(a);
+
+        Assert.assertEquals(b, registry.get(0));
+        Assert.assertEquals(c, registry.get(1));
+        Assert.assertEquals(1, registry.indexOf(c));
+        Assert.assertEquals(-1, registry.indexOf(new Item("c")));
+
+        Item d = new Item("d");
+        registry.add(1, d);
+        Assert.assertEquals(Arrays.asList(b, d, c), new ArrayList<Visitable>(registry));
+        Assert.assertEquals(c, registry.remove(2));
+        Assert.assertEquals(Arrays.asList(b, d), new ArrayList<Visitable>(registry));
+    }
+
+    @Test
+    public void testRemoveVisitable() {
+        Item parent = new Item("parent");
+        Item registered = new Item("a");
+        List<Item> list = new ArrayList<Item>();
+        list.add(registered);
+        parent._visitables.add(registered);
+
+        Assert.assertTrue(parent._removeVisitable(list, new Item("a")));
+        Assert.assertTrue(list.isEmpty());
+        Assert.assertTrue(parent._visitables.isEmpty());
+        Assert.assertFalse(parent._removeVisitable(list, new Item("a")));
+    }
+}
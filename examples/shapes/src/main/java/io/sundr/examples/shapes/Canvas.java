@@ -23,7 +23,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-@Buildable(inline = {
+@Buildable(visitorDispatchEnabled = true, inline = {
         @Inline(type = Createable.class, value = "create", prefix = "Createable"),
         @Inline(type = Updateable.class, value = "update", prefix = "Updateable"),
 })
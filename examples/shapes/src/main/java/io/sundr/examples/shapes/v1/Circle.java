@@ -22,7 +22,7 @@ import io.sundr.examples.shapes.AbstractShape;
 import io.sundr.examples.shapes.Createable;
 import io.sundr.examples.shapes.Updateable;
 
-@Buildable(inline = {
+@Buildable(visitorDispatchEnabled = true, inline = {
         @Inline(type = Createable.class, value = "create", prefix = "Createable"),
         @Inline(type = Updateable.class, value = "update", prefix = "Updateable"),
 })
@@ -16,6 +16,7 @@
 
 package io.sundr.examples.shapes;
 
+import io.sundr.builder.Fluent;
 import io.sundr.builder.PathAwareTypedVisitor;
 import io.sundr.builder.TypedVisitor;
 import io.sundr.builder.Visitor;
@@ -24,9 +25,12 @@ import io.sundr.examples.shapes.v1.CircleBuilder;
 import io.sundr.examples.shapes.v1.EditableCircle;
 import io.sundr.examples.shapes.v1.Square;
 import io.sundr.examples.shapes.v1.SquareBuilder;
+import io.sundr.examples.shapes.v1.VisitorDispatcherImpl;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class ShapesTest {
 
     @Test
@@ -99,6 +103,29 @@ public class ShapesTest {
         Assert.assertEquals(110, ((Circle)canvas.getShapes().get(0)).getRadius());
     }
 
+    @Test
+    public void testVisitorDispatch() {
+        final AtomicInteger visited = new AtomicInteger();
+        TypedVisitor<Fluent> visitor = new TypedVisitor<Fluent>() {
+            @Override
+            public void visit(Fluent fluent) {
+                visited.incrementAndGet();
+            }
+        };
+        Assert.assertFalse(VisitorDispatcherImpl.INSTANCE.hasTable(visitor.getClass()));
+
+        new CanvasBuilder()
+                .addNewCircleShape(0, 0, 10)
+                .addNewSquareShape()
+                .withHeight(30)
+                .and()
+                .accept(visitor);
+
+        Assert.assertEquals(3, visited.get());
+        //Circle and square builders are checked through the dispatcher table.
+        Assert.assertTrue(VisitorDispatcherImpl.INSTANCE.hasTable(visitor.getClass()));
+    }
+
     @Test
     public void testAddToWithVisitors() {
         CanvasBuilder canvasBuilder = new CanvasBuilder();
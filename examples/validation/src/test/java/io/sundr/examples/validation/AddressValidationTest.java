@@ -16,9 +16,13 @@
 
 package io.sundr.examples.validation;
 
+import io.sundr.builder.ValidatorHolder;
+import org.junit.Assert;
 import org.junit.Test;
 
 import javax.validation.ConstraintViolationException;
+import javax.validation.Validation;
+import javax.validation.Validator;
 
 public class AddressValidationTest {
 
@@ -57,4 +61,15 @@ public class AddressValidationTest {
                 .build();
     }
 
+    @Test
+    public void testCustomValidator() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        ValidatorHolder.setValidator(validator);
+        try {
+            Assert.assertSame(validator, ValidatorHolder.getValidator());
+        } finally {
+            ValidatorHolder.setValidator(null);
+        }
+        Assert.assertSame(ValidatorHolder.getValidator(), ValidatorHolder.getValidator());
+    }
 }